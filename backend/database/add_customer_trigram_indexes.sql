@@ -0,0 +1,19 @@
+-- Customer search (/api/search/customers) matches lower(customer) with pg_trgm operators and
+-- LIKE '%...%'. These GIN indexes serve both, so no search needs a sequential scan. The
+-- application creates them on startup when search.customers.ensure-indexes=true; run this
+-- by hand when the application user may not create extensions.
+--
+-- CREATE INDEX CONCURRENTLY cannot run inside a transaction block, so there is no BEGIN/COMMIT.
+-- If a build is interrupted it leaves an INVALID index behind, which IF NOT EXISTS keeps. The
+-- application drops and rebuilds invalid indexes on startup; by hand, drop it and run this again.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_crfs_customer_trgm
+    ON crfs USING gin (lower(customer) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_customer_trgm
+    ON requests USING gin (lower(customer) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotations_customer_trgm
+    ON quotations USING gin (lower(customer) gin_trgm_ops);
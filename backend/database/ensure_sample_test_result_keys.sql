@@ -0,0 +1,24 @@
+-- Test results are written with INSERT ... ON CONFLICT (sample_id, parameter), which needs a
+-- unique key on both collection tables. Hibernate creates it as the primary key of a new map
+-- collection table; run this once on databases whose tables were created some other way.
+
+BEGIN;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'sample_test_values'::regclass AND contype IN ('p', 'u')) THEN
+        DELETE FROM sample_test_values a USING sample_test_values b
+        WHERE a.ctid < b.ctid AND a.sample_id = b.sample_id AND a.parameter = b.parameter;
+        ALTER TABLE sample_test_values ADD PRIMARY KEY (sample_id, parameter);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'sample_test_status'::regclass AND contype IN ('p', 'u')) THEN
+        DELETE FROM sample_test_status a USING sample_test_status b
+        WHERE a.ctid < b.ctid AND a.sample_id = b.sample_id AND a.parameter = b.parameter;
+        ALTER TABLE sample_test_status ADD PRIMARY KEY (sample_id, parameter);
+    END IF;
+END $$;
+
+COMMIT;
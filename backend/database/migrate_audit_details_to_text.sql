@@ -0,0 +1,14 @@
+-- Store audit_logs.details as TEXT instead of a large-object reference.
+-- The audit writer inserts rows in multi-row JDBC batches, which needs a plain text column.
+-- Run once before deploying on a database created while details was mapped with @Lob.
+
+BEGIN;
+
+ALTER TABLE audit_logs
+    ALTER COLUMN details TYPE TEXT
+    USING CASE WHEN details IS NULL THEN NULL ELSE convert_from(lo_get(details), 'UTF8') END;
+
+COMMIT;
+
+-- The old large objects are no longer referenced; remove them with:
+--   vacuumlo <database>
@@ -0,0 +1,15 @@
+-- Switch samples.id generation from IDENTITY to the pooled samples_seq sequence
+-- used by the Sample entity (allocationSize = 50), so sample inserts can be batched.
+-- Run once before deploying on a database that already contains samples.
+-- The id column keeps its identity default, which stays harmless because
+-- Hibernate always supplies the id explicitly.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS samples_seq INCREMENT BY 50;
+
+-- With the pooled optimizer the sequence value is the top of the next id block,
+-- so start one full block above the current maximum id.
+SELECT setval('samples_seq', (SELECT COALESCE(MAX(id), 0) FROM samples) + 50);
+
+COMMIT;
@@ -0,0 +1,67 @@
+-- Convert audit_logs into a table partitioned by month on "timestamp".
+-- Run once during a maintenance window (after migrate_audit_details_to_text.sql).
+-- Afterwards AuditPartitionMaintainer creates upcoming monthly partitions on startup
+-- and daily (audit.partitions.months-ahead), so inserts never wait on DDL.
+--
+-- Queries that bound "timestamp" (the /api/audit from/to filters, or the default
+-- newest-first scan that stops after one page) only touch the matching partitions.
+-- Old months can be detached or dropped without a bulk DELETE:
+--   ALTER TABLE audit_logs DETACH PARTITION audit_logs_y2025m01;
+--   DROP TABLE audit_logs_y2025m01;
+
+BEGIN;
+
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER INDEX IF EXISTS idx_audit_logs_timestamp_id RENAME TO idx_audit_logs_unpartitioned_timestamp_id;
+ALTER INDEX IF EXISTS idx_audit_logs_username_timestamp RENAME TO idx_audit_logs_unpartitioned_username_timestamp;
+ALTER INDEX IF EXISTS idx_audit_logs_module_timestamp RENAME TO idx_audit_logs_unpartitioned_module_timestamp;
+
+-- Identity columns cannot be shared across partitions on every supported PostgreSQL
+-- version, so ids come from a plain sequence. The primary key must include the
+-- partition key.
+CREATE SEQUENCE IF NOT EXISTS audit_logs_id_seq;
+SELECT setval('audit_logs_id_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs_unpartitioned), false);
+
+CREATE TABLE audit_logs (
+    id          BIGINT       NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    username    VARCHAR(255) NOT NULL,
+    action      VARCHAR(255) NOT NULL,
+    module      VARCHAR(255) NOT NULL,
+    details     TEXT,
+    ip_address  VARCHAR(255),
+    status      VARCHAR(255) NOT NULL,
+    timestamp   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (timestamp, id)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Indexes on the parent are created on every partition, existing and future
+CREATE INDEX idx_audit_logs_timestamp_id ON audit_logs (timestamp, id);
+CREATE INDEX idx_audit_logs_username_timestamp ON audit_logs (username, timestamp);
+CREATE INDEX idx_audit_logs_module_timestamp ON audit_logs (module, timestamp);
+
+-- One partition per month from the oldest existing entry to three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(timestamp) FROM audit_logs_unpartitioned), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly range instead of rejecting the insert
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+INSERT INTO audit_logs (id, username, action, module, details, ip_address, status, timestamp)
+SELECT id, username, action, module, details, ip_address, status, timestamp
+FROM audit_logs_unpartitioned;
+
+DROP TABLE audit_logs_unpartitioned;
+
+COMMIT;
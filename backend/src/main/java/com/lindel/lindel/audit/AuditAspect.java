@@ -0,0 +1,179 @@
+package com.lindel.lindel.audit;
+
+import com.lindel.lindel.dto.LoginRequest;
+import com.lindel.lindel.dto.LoginResponse;
+import com.lindel.lindel.dto.RegisterRequest;
+import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.entity.Quotation;
+import com.lindel.lindel.entity.Request;
+import com.lindel.lindel.entity.Sample;
+import com.lindel.lindel.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Turns {@link Audited} service calls into {@link AuditEvent}s on the {@link AuditPipeline}.
+ * <p>
+ * Runs outside the service's own transaction; when the call joins an enclosing transaction the
+ * event is emitted after that transaction completes, so a rollback is recorded as Failed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AuditAspect {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final AuditPipeline auditPipeline;
+
+    @Around("@annotation(audited)")
+    public Object audit(ProceedingJoinPoint joinPoint, Audited audited) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        String username = resolveUsername(args);
+        String ipAddress = resolveIpAddress();
+        String method = joinPoint.getSignature().getName();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable failure) {
+            emit(audited, username, ipAddress, describe(method, args, null) + " - " + failure.getMessage(),
+                    AuditEvent.FAILED);
+            throw failure;
+        }
+
+        String details = describe(method, args, result);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    emit(audited, username, ipAddress,
+                            status == STATUS_COMMITTED ? details : details + " - rolled back",
+                            status == STATUS_COMMITTED ? AuditEvent.SUCCESS : AuditEvent.FAILED);
+                }
+            });
+        } else {
+            emit(audited, username, ipAddress, details, AuditEvent.SUCCESS);
+        }
+        return result;
+    }
+
+    private void emit(Audited audited, String username, String ipAddress, String details, String status) {
+        auditPipeline.submit(new AuditEvent(username, audited.action(), audited.module(),
+                details, ipAddress, status, LocalDateTime.now()));
+    }
+
+    private String resolveUsername(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof LoginRequest login && login.getUsername() != null) {
+                return login.getUsername();
+            }
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        for (Object arg : args) {
+            if (arg instanceof RegisterRequest register && register.getUsername() != null) {
+                return register.getUsername();
+            }
+        }
+        return ANONYMOUS;
+    }
+
+    private String resolveIpAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            int comma = forwarded.indexOf(',');
+            return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    /** e.g. {@code updateSampleStatus(12, completed) -> SMP/26/0042}. */
+    private static String describe(String method, Object[] args, Object result) {
+        StringBuilder details = new StringBuilder(method).append('(');
+        boolean first = true;
+        for (Object arg : args) {
+            String value = describeArgument(arg);
+            if (value == null) {
+                continue;
+            }
+            if (!first) {
+                details.append(", ");
+            }
+            details.append(value);
+            first = false;
+        }
+        details.append(')');
+        String target = describeResult(result);
+        if (target != null) {
+            details.append(" -> ").append(target);
+        }
+        return details.toString();
+    }
+
+    private static String describeArgument(Object arg) {
+        if (arg instanceof Number || arg instanceof String || arg instanceof Boolean) {
+            return String.valueOf(arg);
+        }
+        if (arg instanceof Collection<?> collection) {
+            return collection.size() + " items";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return map.keySet().toString();
+        }
+        // request bodies are summarised through the result; credentials are never logged
+        return null;
+    }
+
+    private static String describeResult(Object result) {
+        if (result instanceof CRF crf) {
+            return crf.getCrfId();
+        }
+        if (result instanceof Sample sample) {
+            return sample.getSampleId();
+        }
+        if (result instanceof Quotation quotation) {
+            return quotation.getQuotationId();
+        }
+        if (result instanceof Request request) {
+            return request.getRequestId();
+        }
+        if (result instanceof User user) {
+            return user.getUsername();
+        }
+        if (result instanceof LoginResponse login) {
+            return login.getRole();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size() + " items";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.lindel.lindel.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit entry captured at the call site and persisted later as an audit_logs row.
+ */
+public record AuditEvent(String username,
+                         String action,
+                         String module,
+                         String details,
+                         String ipAddress,
+                         String status,
+                         LocalDateTime timestamp) {
+
+    public static final String SUCCESS = "Success";
+    public static final String FAILED = "Failed";
+
+    /** Longest details string kept; fits the codec's modified-UTF-8 string limit. */
+    public static final int MAX_DETAILS_LENGTH = 4000;
+
+    public AuditEvent {
+        if (details != null && details.length() > MAX_DETAILS_LENGTH) {
+            details = details.substring(0, MAX_DETAILS_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lindel.lindel.audit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary form of an {@link AuditEvent} used for on-disk overflow files.
+ */
+public final class AuditEventCodec {
+
+    private AuditEventCodec() {
+    }
+
+    public static void write(DataOutput out, AuditEvent event) throws IOException {
+        LocalDateTime timestamp = event.timestamp();
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+        writeString(out, event.username());
+        writeString(out, event.action());
+        writeString(out, event.module());
+        writeString(out, event.details());
+        writeString(out, event.ipAddress());
+        writeString(out, event.status());
+    }
+
+    public static AuditEvent read(DataInput in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        return new AuditEvent(readString(in), readString(in), readString(in),
+                readString(in), readString(in), readString(in), timestamp);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.lindel.lindel.audit;
+
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of audit events in fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is {@code [length][crc32][payload]}; a zero length marks the end of written data
+ * and {@link #ROLLOVER} marks a segment the writer has left. {@link #append} writes a whole batch
+ * and forces it to disk once (group commit) before publishing the new committed position, which
+ * is as far as {@link AuditJournalShipper} reads. On startup the tail segment is scanned and any
+ * torn record left by a crash is discarded.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true")
+@Slf4j
+public class AuditJournal implements MetricsSource {
+
+    static final int HEADER_SIZE = 8;
+    static final int ROLLOVER = -1;
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int MIN_SEGMENT_SIZE = 1 << 20;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private long segmentId;
+    private MappedByteBuffer segment;
+    private int writeOffset;
+    private volatile JournalPosition committed;
+
+    private long appendedEvents;
+    private long groupCommits;
+    private final LatencyRecorder commitLatency = new LatencyRecorder();
+
+    public AuditJournal(@Value("${audit.journal.dir:./data/audit/journal}") String dir,
+                        @Value("${audit.journal.segment-size:67108864}") int segmentSize,
+                        @Value("${audit.journal.fsync:true}") boolean fsync) throws IOException {
+        this.dir = Path.of(dir);
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, segmentSize);
+        this.fsync = fsync;
+        Files.createDirectories(this.dir);
+        recover();
+    }
+
+    /** Writes the batch and makes it durable with a single force before returning. */
+    public synchronized void append(List<AuditEvent> events) throws IOException {
+        long started = System.nanoTime();
+        int dirtyFrom = writeOffset;
+        for (AuditEvent event : events) {
+            byte[] payload = encode(event);
+            int recordSize = HEADER_SIZE + payload.length;
+            // keep room for the rollover marker after the last record
+            if (writeOffset + recordSize + Integer.BYTES > segmentSize) {
+                force(dirtyFrom);
+                roll();
+                dirtyFrom = 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            segment.put(writeOffset + HEADER_SIZE, payload);
+            segment.putInt(writeOffset + Integer.BYTES, (int) crc.getValue());
+            segment.putInt(writeOffset, payload.length);
+            writeOffset += recordSize;
+        }
+        force(dirtyFrom);
+        committed = new JournalPosition(segmentId, writeOffset);
+        appendedEvents += events.size();
+        groupCommits++;
+        commitLatency.record(System.nanoTime() - started);
+    }
+
+    /** Highest position whose records are complete and durable. */
+    public JournalPosition committedPosition() {
+        return committed;
+    }
+
+    Path directory() {
+        return dir;
+    }
+
+    Path segmentPath(long id) {
+        return dir.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    /** Segment numbers present on disk, oldest first. */
+    List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Length of the valid record at {@code offset}: 0 at the end of written data,
+     * {@link #ROLLOVER} at a rollover marker, or -2 when the record is torn or corrupt.
+     */
+    static int recordLength(ByteBuffer buffer, int offset) {
+        if (offset + Integer.BYTES > buffer.limit()) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length == 0 || length == ROLLOVER) {
+            return length;
+        }
+        if (length < 0 || offset + HEADER_SIZE + length > buffer.limit()) {
+            return -2;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_SIZE, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES) ? length : -2;
+    }
+
+    static AuditEvent decode(ByteBuffer buffer, int offset, int length) throws IOException {
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_SIZE, payload);
+        return AuditEventCodec.read(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+    private static byte[] encode(AuditEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        AuditEventCodec.write(new DataOutputStream(bytes), event);
+        return bytes.toByteArray();
+    }
+
+    private void recover() throws IOException {
+        List<Long> existing = segments();
+        if (existing.isEmpty()) {
+            open(1);
+            committed = new JournalPosition(segmentId, 0);
+            return;
+        }
+        open(existing.get(existing.size() - 1));
+        int offset = 0;
+        while (true) {
+            int length = recordLength(segment, offset);
+            if (length > 0) {
+                offset += HEADER_SIZE + length;
+            } else if (length == ROLLOVER) {
+                // crashed between sealing this segment and creating the next one
+                open(segmentId + 1);
+                offset = 0;
+            } else {
+                if (length == -2) {
+                    log.warn("Discarding torn audit journal record in segment {} at offset {}", segmentId, offset);
+                    for (int i = offset; i < segmentSize; i++) {
+                        segment.put(i, (byte) 0);
+                    }
+                    segment.force();
+                }
+                break;
+            }
+        }
+        writeOffset = offset;
+        committed = new JournalPosition(segmentId, offset);
+        log.info("Audit journal recovered at {}", committed);
+    }
+
+    private void roll() throws IOException {
+        segment.putInt(writeOffset, ROLLOVER);
+        segment.force();
+        open(segmentId + 1);
+    }
+
+    private void open(long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentId = id;
+        writeOffset = 0;
+    }
+
+    private void force(int from) {
+        if (fsync && writeOffset > from) {
+            segment.force(from, writeOffset - from);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "audit-journal";
+    }
+
+    @Override
+    public synchronized Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("committedPosition", committed.toString());
+        values.put("segmentSize", segmentSize);
+        values.put("fsync", fsync);
+        values.put("appendedEvents", appendedEvents);
+        values.put("groupCommits", groupCommits);
+        values.putAll(commitLatency.snapshot("commit"));
+        return values;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        segment.force();
+    }
+}
@@ -0,0 +1,229 @@
+package com.lindel.lindel.audit;
+
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays committed audit journal records into audit_logs in batches.
+ * <p>
+ * The shipped position is saved to {@code shipped.pos} after every successful batch and read
+ * back on startup, so shipping resumes where it stopped; a crash between the insert and the
+ * save re-ships that one batch. Segments behind the shipped position are deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.journal.enabled", havingValue = "true")
+@Slf4j
+public class AuditJournalShipper implements MetricsSource {
+
+    private static final long RETRY_BACKOFF_MAX_MS = 30_000;
+
+    private final AuditJournal journal;
+    private final JdbcAuditWriter writer;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final Path positionFile;
+
+    private volatile JournalPosition shipped;
+    private MappedByteBuffer readerSegment;
+    private long readerSegmentId = -1;
+
+    private final LongAdder shippedEvents = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder deletedSegments = new LongAdder();
+    private final LatencyRecorder shipLatency = new LatencyRecorder();
+
+    private volatile boolean running;
+    private Thread shipperThread;
+
+    public AuditJournalShipper(AuditJournal journal,
+                               JdbcAuditWriter writer,
+                               @Value("${audit.batch-size:500}") int batchSize,
+                               @Value("${audit.journal.ship-interval-ms:200}") long pollIntervalMs) throws IOException {
+        this.journal = journal;
+        this.writer = writer;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollIntervalMs = Math.max(1, pollIntervalMs);
+        this.positionFile = journal.directory().resolve("shipped.pos");
+        JournalPosition saved = loadPosition();
+        if (saved.compareTo(journal.committedPosition()) > 0) {
+            // journal directory was reset underneath the position file
+            List<Long> segments = journal.segments();
+            log.warn("Shipped position {} is ahead of the audit journal, restarting from its oldest segment", saved);
+            saved = new JournalPosition(segments.isEmpty() ? journal.committedPosition().segment() : segments.get(0), 0);
+        }
+        this.shipped = saved;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        shipperThread = new Thread(this::shipLoop, "audit-journal-shipper");
+        shipperThread.setDaemon(true);
+        shipperThread.start();
+        log.info("Audit journal shipping from {}", shipped);
+    }
+
+    private void shipLoop() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                List<AuditEvent> batch = new ArrayList<>(batchSize);
+                JournalPosition next = read(shipped, batch);
+                if (!batch.isEmpty()) {
+                    long started = System.nanoTime();
+                    writer.write(batch);
+                    shipLatency.record(System.nanoTime() - started);
+                    shippedEvents.add(batch.size());
+                }
+                if (!next.equals(shipped)) {
+                    savePosition(next);
+                    long previousSegment = shipped.segment();
+                    shipped = next;
+                    if (next.segment() > previousSegment) {
+                        deleteSegmentsBefore(next.segment());
+                    }
+                }
+                backoffMs = 0;
+                if (batch.size() < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                failedBatches.increment();
+                backoffMs = backoffMs == 0 ? pollIntervalMs : Math.min(backoffMs * 2, RETRY_BACKOFF_MAX_MS);
+                log.warn("Shipping audit journal from {} failed, retrying in {} ms: {}", shipped, backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects up to batchSize committed events starting at {@code from} and returns the
+     * position just after the last one (or past any finished segments it stepped over).
+     */
+    private JournalPosition read(JournalPosition from, List<AuditEvent> batch) throws IOException {
+        JournalPosition committed = journal.committedPosition();
+        long segmentId = from.segment();
+        int offset = from.offset();
+        while (batch.size() < batchSize) {
+            if (segmentId > committed.segment() || (segmentId == committed.segment() && offset >= committed.offset())) {
+                break;
+            }
+            MappedByteBuffer segment = mapForRead(segmentId);
+            if (segment == null) {
+                // segment already gone (e.g. removed by hand); continue with the next one
+                segmentId++;
+                offset = 0;
+                continue;
+            }
+            int length = AuditJournal.recordLength(segment, offset);
+            if (length > 0) {
+                batch.add(AuditJournal.decode(segment, offset, length));
+                offset += AuditJournal.HEADER_SIZE + length;
+            } else if (segmentId < committed.segment()) {
+                if (length == -2) {
+                    log.error("Corrupt audit journal record in segment {} at offset {}; skipping the rest of the segment",
+                            segmentId, offset);
+                }
+                segmentId++;
+                offset = 0;
+            } else {
+                break;
+            }
+        }
+        return new JournalPosition(segmentId, offset);
+    }
+
+    private MappedByteBuffer mapForRead(long segmentId) throws IOException {
+        if (segmentId != readerSegmentId) {
+            Path path = journal.segmentPath(segmentId);
+            if (!Files.exists(path)) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                readerSegment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            readerSegmentId = segmentId;
+        }
+        return readerSegment;
+    }
+
+    private void deleteSegmentsBefore(long segmentId) throws IOException {
+        for (long id : journal.segments()) {
+            if (id >= segmentId) {
+                break;
+            }
+            Files.deleteIfExists(journal.segmentPath(id));
+            deletedSegments.increment();
+        }
+    }
+
+    private JournalPosition loadPosition() throws IOException {
+        if (Files.exists(positionFile)) {
+            String[] parts = Files.readString(positionFile, StandardCharsets.US_ASCII).trim().split(":");
+            return new JournalPosition(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+        }
+        List<Long> segments = journal.segments();
+        return new JournalPosition(segments.isEmpty() ? 1 : segments.get(0), 0);
+    }
+
+    private void savePosition(JournalPosition position) throws IOException {
+        Path tmp = positionFile.resolveSibling("shipped.pos.tmp");
+        Files.writeString(tmp, position.toString(), StandardCharsets.US_ASCII);
+        Files.move(tmp, positionFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public String metricsName() {
+        return "audit-journal-shipper";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        JournalPosition position = shipped;
+        JournalPosition committed = journal.committedPosition();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("shippedPosition", position.toString());
+        values.put("committedPosition", committed.toString());
+        values.put("segmentsBehind", committed.segment() - position.segment());
+        values.put("shippedEvents", shippedEvents.sum());
+        values.put("failedBatches", failedBatches.sum());
+        values.put("deletedSegments", deletedSegments.sum());
+        values.putAll(shipLatency.snapshot("ship"));
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        shipperThread.interrupt();
+        shipperThread.join(5_000);
+    }
+}
@@ -0,0 +1,55 @@
+package com.lindel.lindel.audit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly partitions of audit_logs created ahead of time once the table has been
+ * converted with database/partition_audit_logs_by_month.sql. Does nothing on a plain table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partitions.cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        try {
+            Boolean partitioned = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('audit_logs'))",
+                    Boolean.class);
+            if (!Boolean.TRUE.equals(partitioned)) {
+                return;
+            }
+            YearMonth month = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not create audit_logs partitions: {}", e.getMessage());
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        String name = String.format("audit_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF audit_logs"
+                + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+    }
+}
@@ -0,0 +1,247 @@
+package com.lindel.lindel.audit;
+
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory buffer between request threads and the audit_logs table.
+ * <p>
+ * {@link #submit} never touches the database: events go into a fixed-size queue and a single
+ * background writer drains it in multi-row INSERT batches. When the queue is full the configured
+ * {@link OverflowPolicy} decides whether the new event waits briefly, replaces the oldest one,
+ * is dropped, or is appended to a spill file that the writer replays once it catches up.
+ * <p>
+ * With {@code audit.journal.enabled} the writer appends each batch to the {@link AuditJournal}
+ * instead, and {@link AuditJournalShipper} moves it into the database independently, so a slow
+ * or unavailable database never backs up the buffer.
+ */
+@Component
+@Slf4j
+public class AuditPipeline implements MetricsSource {
+
+    public enum OverflowPolicy {
+        /** Discard the incoming event. */
+        DROP_NEWEST,
+        /** Discard the oldest buffered event to make room. */
+        DROP_OLDEST,
+        /** Wait up to {@code audit.offer-timeout-ms}, then discard. */
+        BLOCK,
+        /** Append to the spill file for later replay. */
+        SPILL
+    }
+
+    private static final long RETRY_BACKOFF_MAX_MS = 30_000;
+
+    private final BlockingQueue<AuditEvent> buffer;
+    private final JdbcAuditWriter writer;
+    private final AuditJournal journal;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final AuditSpillFile spillFile;
+    private final int capacity;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LatencyRecorder flushLatency = new LatencyRecorder();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditPipeline(JdbcAuditWriter writer,
+                         ObjectProvider<AuditJournal> journal,
+                         @Value("${audit.buffer-capacity:65536}") int capacity,
+                         @Value("${audit.batch-size:500}") int batchSize,
+                         @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+                         @Value("${audit.overflow-policy:SPILL}") OverflowPolicy overflowPolicy,
+                         @Value("${audit.offer-timeout-ms:5}") long offerTimeoutMs,
+                         @Value("${audit.spill-file:./data/audit/spill.bin}") String spillFile) {
+        this.writer = writer;
+        this.journal = journal.getIfAvailable();
+        this.capacity = Math.max(1, capacity);
+        this.buffer = new ArrayBlockingQueue<>(this.capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.spillFile = new AuditSpillFile(Path.of(spillFile));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit pipeline: capacity {}, batch {}, overflow {}, target {}",
+                capacity, batchSize, overflowPolicy, journal != null ? "journal" : "database");
+    }
+
+    /** Queues an event for persistence; returns immediately whatever the database is doing. */
+    public void submit(AuditEvent event) {
+        if (buffer.offer(event)) {
+            accepted.increment();
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> dropped.increment();
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                accepted.increment();
+            }
+            case BLOCK -> {
+                try {
+                    if (buffer.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        accepted.increment();
+                    } else {
+                        dropped.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+            case SPILL -> {
+                try {
+                    spillFile.append(event);
+                    spilled.increment();
+                } catch (IOException e) {
+                    dropped.increment();
+                    log.warn("Could not spill audit event: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long backoffMs = 0;
+        while (running || !buffer.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    AuditEvent first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        replaySpill();
+                        continue;
+                    }
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                }
+                flush(batch);
+                batch.clear();
+                backoffMs = 0;
+                if (buffer.isEmpty()) {
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                backoffMs = backoffMs == 0 ? flushIntervalMs : Math.min(backoffMs * 2, RETRY_BACKOFF_MAX_MS);
+                log.warn("Audit flush of {} events failed, retrying in {} ms: {}", batch.size(), backoffMs, e.getMessage());
+                if (!running) {
+                    dropped.add(batch.size());
+                    batch.clear();
+                    continue;
+                }
+                sleepQuietly(backoffMs);
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long started = System.nanoTime();
+        if (journal != null) {
+            try {
+                journal.append(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            writer.write(batch);
+        }
+        flushLatency.record(System.nanoTime() - started);
+        written.add(batch.size());
+    }
+
+    private void replaySpill() {
+        if (!spillFile.hasPending()) {
+            return;
+        }
+        try {
+            spillFile.replay(batchSize, this::flush);
+        } catch (IOException | RuntimeException e) {
+            failedFlushes.increment();
+            log.warn("Audit spill replay failed, will retry: {}", e.getMessage());
+            sleepQuietly(flushIntervalMs);
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignored) {
+            // woken for shutdown
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "audit";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("overflowPolicy", overflowPolicy.name());
+        values.put("target", journal != null ? "journal" : "database");
+        values.put("queueDepth", buffer.size());
+        values.put("queueCapacity", capacity);
+        values.put("accepted", accepted.sum());
+        values.put("written", written.sum());
+        values.put("dropped", dropped.sum());
+        values.put("spilled", spilled.sum());
+        values.put("failedFlushes", failedFlushes.sum());
+        values.putAll(flushLatency.snapshot("flush"));
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // the writer notices within one flush interval and drains what is left
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        try {
+            spillFile.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit spill file: {}", e.getMessage());
+        }
+    }
+}
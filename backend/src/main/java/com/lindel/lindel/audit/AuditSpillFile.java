@@ -0,0 +1,115 @@
+package com.lindel.lindel.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only overflow file for audit events that did not fit in the in-memory buffer.
+ * The writer thread replays it once the buffer has drained.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private final Path file;
+    private final Path replaying;
+    private DataOutputStream out;
+    private long pending;
+    private boolean leftover;
+
+    AuditSpillFile(Path file) {
+        this.file = file;
+        this.replaying = file.resolveSibling(file.getFileName() + ".replay");
+        // events spilled before a restart are replayed like fresh ones
+        this.leftover = Files.exists(file) || Files.exists(replaying);
+    }
+
+    synchronized void append(AuditEvent event) throws IOException {
+        if (out == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        }
+        AuditEventCodec.write(out, event);
+        // only count the event once it has left the JVM, so a crash cannot lose a counted event
+        out.flush();
+        pending++;
+    }
+
+    synchronized boolean hasPending() {
+        return pending > 0 || leftover;
+    }
+
+    /**
+     * Hands spilled events to {@code sink} in batches of {@code batchSize}. The file is only
+     * removed once every batch was accepted; a failing batch leaves it for the next attempt,
+     * so delivery is at-least-once.
+     */
+    void replay(int batchSize, Consumer<List<AuditEvent>> sink) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replaying)) {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                if (!Files.exists(file)) {
+                    pending = 0;
+                    leftover = false;
+                    return;
+                }
+                Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+                pending = 0;
+            }
+            leftover = true;
+        }
+
+        long replayed = 0;
+        try (InputStream raw = Files.newInputStream(replaying);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            while (true) {
+                AuditEvent event;
+                try {
+                    event = AuditEventCodec.read(in);
+                } catch (EOFException e) {
+                    break;
+                }
+                batch.add(event);
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    replayed += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                replayed += batch.size();
+            }
+        }
+        Files.delete(replaying);
+        synchronized (this) {
+            leftover = Files.exists(file);
+        }
+        log.info("Replayed {} spilled audit events", replayed);
+    }
+
+    synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.lindel.lindel.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose outcome is recorded in the audit log.
+ * Recording is handled by {@link AuditAspect} and never blocks the caller on the database.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    /** Audit module, e.g. CRF, Sample, Quotation, Request, Auth. */
+    String module();
+
+    /** Audit action, e.g. CREATE, UPDATE, DELETE, ASSIGN, LOGIN. */
+    String action();
+}
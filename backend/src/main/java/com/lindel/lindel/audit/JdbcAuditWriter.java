@@ -0,0 +1,56 @@
+package com.lindel.lindel.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes audit events with one multi-row INSERT per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcAuditWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_logs (username, action, module, details, ip_address, status, timestamp) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<Integer, String> statements = new ConcurrentHashMap<>();
+
+    public void write(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String sql = statements.computeIfAbsent(events.size(), JdbcAuditWriter::insertStatement);
+        Object[] args = new Object[events.size() * 7];
+        int i = 0;
+        for (AuditEvent event : events) {
+            args[i++] = event.username();
+            args[i++] = event.action();
+            args[i++] = event.module();
+            args[i++] = event.details();
+            args[i++] = event.ipAddress();
+            args[i++] = event.status();
+            args[i++] = Timestamp.valueOf(event.timestamp());
+        }
+        jdbcTemplate.update(sql, args);
+    }
+
+    private static String insertStatement(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.toString();
+    }
+}
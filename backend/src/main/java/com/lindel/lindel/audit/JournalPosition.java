@@ -0,0 +1,18 @@
+package com.lindel.lindel.audit;
+
+/**
+ * Location in the audit journal: a segment number and a byte offset within it.
+ */
+public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        int bySegment = Long.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+
+    @Override
+    public String toString() {
+        return segment + ":" + offset;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lindel.lindel.config;
+
+import com.lindel.lindel.service.BlobReferenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off move of inline base64 CRF signatures and sample images into the blob store.
+ * Enable with {@code blobstore.migrate-on-startup=true}, run once, then switch it off.
+ * Rows are processed one CRF at a time so only a single CRF's images are on the heap,
+ * and rows that already hold references are skipped, so a rerun is safe. References in the
+ * old public form are rewritten to the authenticated route as well.
+ */
+@Component
+@ConditionalOnProperty(name = "blobstore.migrate-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BlobMigrationRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobReferenceService blobReferenceService;
+
+    @Override
+    public void run(String... args) {
+        log.info("Migrating inline CRF signatures and sample images to the blob store...");
+
+        List<Long> signatureIds = jdbcTemplate.queryForList(
+                "SELECT id FROM crfs WHERE signature LIKE 'data:%'", Long.class);
+        for (Long id : signatureIds) {
+            String signature = jdbcTemplate.queryForObject(
+                    "SELECT signature FROM crfs WHERE id = ?", String.class, id);
+            jdbcTemplate.update("UPDATE crfs SET signature = ? WHERE id = ?",
+                    blobReferenceService.internalize(signature), id);
+        }
+        log.info("Migrated {} signatures", signatureIds.size());
+
+        List<Long> imageCrfIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT crf_id FROM crf_sample_images WHERE image LIKE 'data:%'", Long.class);
+        int images = 0;
+        for (Long crfId : imageCrfIds) {
+            List<String> inline = jdbcTemplate.queryForList(
+                    "SELECT image FROM crf_sample_images WHERE crf_id = ? AND image LIKE 'data:%'", String.class, crfId);
+            for (String image : inline) {
+                images += jdbcTemplate.update(
+                        "UPDATE crf_sample_images SET image = ? WHERE crf_id = ? AND image = ?",
+                        blobReferenceService.internalize(image), crfId, image);
+            }
+        }
+        log.info("Migrated {} sample images across {} CRFs", images, imageCrfIds.size());
+
+        String legacy = BlobReferenceService.LEGACY_REFERENCE_PREFIX;
+        String current = BlobReferenceService.REFERENCE_PREFIX;
+        int rewritten = jdbcTemplate.update("UPDATE crfs SET signature = replace(signature, ?, ?) WHERE signature LIKE ?",
+                legacy, current, legacy + "%");
+        rewritten += jdbcTemplate.update("UPDATE crf_sample_images SET image = replace(image, ?, ?) WHERE image LIKE ?",
+                legacy, current, legacy + "%");
+        log.info("Rewrote {} public blob references", rewritten);
+    }
+}
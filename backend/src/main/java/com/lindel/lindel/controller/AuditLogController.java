@@ -0,0 +1,49 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.AuditLogFilter;
+import com.lindel.lindel.dto.CursorPage;
+import com.lindel.lindel.entity.AuditLog;
+import com.lindel.lindel.service.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditLogController {
+
+    private final AuditLogService auditLogService;
+
+    /**
+     * Audit entries newest first. All filters combine; pass {@code nextCursor} from the
+     * previous page as {@code cursor} to continue. Bounding {@code from}/{@code to}
+     * keeps the query to the matching monthly partitions.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<AuditLog>>> getAuditLogs(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String module,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            AuditLogFilter filter = new AuditLogFilter(username, module, action, status, from, to);
+            CursorPage<AuditLog> page = auditLogService.getAuditLogs(filter, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.lindel.lindel.dto.LoginRequest;
 import com.lindel.lindel.dto.LoginResponse;
 import com.lindel.lindel.dto.RegisterRequest;
 import com.lindel.lindel.entity.User;
+import com.lindel.lindel.exception.TooManyRequestsException;
 import com.lindel.lindel.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,8 @@ public class AuthController {
         try {
             LoginResponse response = authService.login(request);
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Invalid credentials"));
@@ -36,6 +39,8 @@ public class AuthController {
             User user = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", user));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
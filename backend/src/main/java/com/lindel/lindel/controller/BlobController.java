@@ -0,0 +1,128 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.service.BlobReferenceService;
+import com.lindel.lindel.storage.BlobStore;
+import com.lindel.lindel.storage.StoredBlob;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class BlobController {
+
+    private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private final BlobStore blobStore;
+
+    @PostMapping("/api/blobs")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> upload(@RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            StoredBlob blob = blobStore.put(in, BlobReferenceService.safeContentType(file.getContentType()));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Blob stored", Map.of(
+                            "hash", blob.hash(),
+                            "size", blob.size(),
+                            "contentType", blob.contentType(),
+                            "url", BlobReferenceService.REFERENCE_PREFIX + blob.hash())));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to store blob: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Serves blob bytes straight from the store to authenticated users; the hash identifies
+     * the content but is not an access token. Content never changes for a given hash, so
+     * responses are privately cacheable forever and the hash doubles as a strong ETag.
+     * Supports a single {@code Range: bytes=} range; multi-range requests get the full body.
+     */
+    @GetMapping("/api/blobs/{hash}")
+    public void download(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredBlob> found = blobStore.stat(hash);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StoredBlob blob = found.get();
+        String etag = "\"" + blob.hash() + "\"";
+
+        // Never let the browser render anything but an allowlisted image inline
+        boolean inline = BlobReferenceService.isAllowedImage(blob.contentType());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (!inline) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + blob.hash() + "\"");
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = blob.size() - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+            long[] bounds = parseRange(range.substring("bytes=".length()), blob.size());
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + blob.size());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + blob.size());
+        }
+
+        long length = end - start + 1;
+        response.setContentType(inline ? BlobReferenceService.safeContentType(blob.contentType())
+                : BlobReferenceService.FALLBACK_CONTENT_TYPE);
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        blobStore.transferTo(blob.hash(), start, length, out);
+    }
+
+    private static long[] parseRange(String spec, long size) {
+        try {
+            int dash = spec.indexOf('-');
+            if (dash < 0 || size == 0) {
+                return null;
+            }
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            return start <= end && start < size ? new long[]{start, end} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.lindel.lindel.controller;
 
 import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.CRFFilter;
+import com.lindel.lindel.dto.CRFSummary;
+import com.lindel.lindel.dto.CursorPage;
 import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.entity.Sample;
 import com.lindel.lindel.service.CRFService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,6 +27,29 @@ public class CRFController {
         return ResponseEntity.ok(ApiResponse.success(crfs));
     }
 
+    /**
+     * Paginated mode of the CRF list, selected by passing {@code limit}.
+     * Returns summaries only; load the full CRF through {@code /api/crf/{id}}.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApiResponse<CursorPage<CRFSummary>>> getCRFPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String sampleType,
+            @RequestParam(required = false) String crfType,
+            @RequestParam(required = false) String customer) {
+        try {
+            CRFFilter filter = new CRFFilter(status, priority, sampleType, crfType, customer);
+            CursorPage<CRFSummary> page = crfService.getCRFSummaries(filter, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<CRF>> getCRFById(@PathVariable Long id) {
         try {
@@ -86,6 +113,20 @@ public class CRFController {
         }
     }
 
+    @PostMapping("/{id}/samples")
+    public ResponseEntity<ApiResponse<List<Sample>>> addSamples(
+            @PathVariable Long id,
+            @RequestBody List<Sample> samples) {
+        try {
+            List<Sample> created = crfService.addSamples(id, samples);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(created.size() + " samples added", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<CRF>> updateCRFStatus(
             @PathVariable Long id,
@@ -3,9 +3,11 @@ package com.lindel.lindel.controller;
 import com.lindel.lindel.dto.ApiResponse;
 import com.lindel.lindel.entity.Chemist;
 import com.lindel.lindel.service.ChemistService;
+import com.lindel.lindel.service.ChemistWorkloadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,6 +19,7 @@ import java.util.List;
 public class ChemistController {
     
     private final ChemistService chemistService;
+    private final ChemistWorkloadService chemistWorkloadService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<Chemist>>> getAllChemists() {
@@ -82,9 +85,7 @@ public class ChemistController {
             @PathVariable Long id,
             @RequestBody WorkloadUpdate workload) {
         try {
-            Chemist chemist = chemistService.getChemistById(id);
-            chemist.setActiveTasks(workload.getCurrentWorkload());
-            Chemist updated = chemistService.updateChemist(id, chemist);
+            Chemist updated = chemistService.setActiveTasks(id, workload.getCurrentWorkload());
             return ResponseEntity.ok(ApiResponse.success("Workload updated successfully", updated));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -92,6 +93,14 @@ public class ChemistController {
         }
     }
     
+    /** Recomputes every chemist's workload counters from samples (also runs nightly). */
+    @PostMapping("/workload/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> reconcileWorkload() {
+        int updated = chemistWorkloadService.reconcile();
+        return ResponseEntity.ok(ApiResponse.success("Workload counters reconciled", updated));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteChemist(@PathVariable Long id) {
         try {
@@ -0,0 +1,34 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.DashboardSnapshot;
+import com.lindel.lindel.service.DashboardSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardSnapshotService dashboardSnapshotService;
+
+    /**
+     * Shared dashboard snapshot; may be a few seconds old, see {@code generatedAt}.
+     * Recent audit activity is included for admins only.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DashboardSnapshot>> getDashboard(Authentication authentication) {
+        boolean admin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        try {
+            return ResponseEntity.ok(ApiResponse.success(dashboardSnapshotService.getSnapshot(admin)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.ChunkReceipt;
+import com.lindel.lindel.dto.CompleteUploadRequest;
+import com.lindel.lindel.dto.UploadSessionRequest;
+import com.lindel.lindel.dto.UploadSessionStatus;
+import com.lindel.lindel.entity.EnvironmentalSampling;
+import com.lindel.lindel.service.EnvironmentalSamplingService;
+import com.lindel.lindel.service.EnvironmentalUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/environmental-sampling")
+@RequiredArgsConstructor
+public class EnvironmentalSamplingController {
+
+    private final EnvironmentalSamplingService environmentalSamplingService;
+    private final EnvironmentalUploadService environmentalUploadService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<EnvironmentalSampling>>> getAllSamplings() {
+        List<EnvironmentalSampling> samplings = environmentalSamplingService.getAllSamplings();
+        return ResponseEntity.ok(ApiResponse.success(samplings));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<EnvironmentalSampling>> getSamplingById(@PathVariable Long id) {
+        try {
+            EnvironmentalSampling sampling = environmentalSamplingService.getSamplingById(id);
+            return ResponseEntity.ok(ApiResponse.success(sampling));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/crf/{crfId}")
+    public ResponseEntity<ApiResponse<EnvironmentalSampling>> getSamplingByCrfId(@PathVariable Long crfId) {
+        try {
+            EnvironmentalSampling sampling = environmentalSamplingService.getSamplingByCrfId(crfId);
+            return ResponseEntity.ok(ApiResponse.success(sampling));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<EnvironmentalSampling>> createSampling(@RequestBody EnvironmentalSampling sampling) {
+        try {
+            EnvironmentalSampling created = environmentalSamplingService.createSampling(sampling);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Environmental sampling created successfully", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteSampling(@PathVariable Long id) {
+        try {
+            environmentalSamplingService.deleteSampling(id);
+            return ResponseEntity.ok(ApiResponse.success("Environmental sampling deleted successfully", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Chunked map image uploads
+
+    @PostMapping("/uploads")
+    public ResponseEntity<ApiResponse<UploadSessionStatus>> createUploadSession(
+            @Valid @RequestBody UploadSessionRequest request) {
+        try {
+            UploadSessionStatus status = environmentalUploadService.createSession(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Upload session created", status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/uploads/{sessionId}")
+    public ResponseEntity<ApiResponse<UploadSessionStatus>> getUploadSession(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(environmentalUploadService.getStatus(sessionId)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping(value = "/uploads/{sessionId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<ChunkReceipt>> uploadChunk(
+            @PathVariable String sessionId,
+            @PathVariable Integer index,
+            @RequestHeader(value = "X-Chunk-SHA256", required = false) String sha256,
+            HttpServletRequest request) {
+        try (InputStream body = request.getInputStream()) {
+            ChunkReceipt receipt = environmentalUploadService.writeChunk(sessionId, index, body, sha256);
+            return ResponseEntity.ok(ApiResponse.success("Chunk stored", receipt));
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/uploads/{sessionId}/complete")
+    public ResponseEntity<ApiResponse<EnvironmentalSampling>> completeUpload(
+            @PathVariable String sessionId,
+            @Valid @RequestBody CompleteUploadRequest request) {
+        try {
+            EnvironmentalSampling sampling = environmentalUploadService.complete(sessionId, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Environmental sampling created successfully", sampling));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/uploads/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> abortUpload(@PathVariable String sessionId) {
+        try {
+            environmentalUploadService.abort(sessionId);
+            return ResponseEntity.ok(ApiResponse.success("Upload session aborted", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
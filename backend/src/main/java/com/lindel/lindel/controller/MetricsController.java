@@ -0,0 +1,39 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.metrics.MetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricsController {
+
+    private final List<MetricsSource> sources;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getAllMetrics() {
+        Map<String, Map<String, Object>> all = new TreeMap<>();
+        sources.forEach(source -> all.put(source.metricsName(), source.metrics()));
+        return ResponseEntity.ok(ApiResponse.success(all));
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics(@PathVariable String name) {
+        return sources.stream()
+                .filter(source -> source.metricsName().equals(name))
+                .findFirst()
+                .map(source -> ResponseEntity.ok(ApiResponse.success(source.metrics())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No metrics named " + name)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.entity.PriceList;
+import com.lindel.lindel.service.PriceListService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/price-lists")
+@RequiredArgsConstructor
+public class PriceListController {
+
+    private final PriceListService priceListService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PriceList>>> getPriceLists(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String customer) {
+        List<PriceList> priceLists;
+        if (status != null) {
+            priceLists = priceListService.getPriceListsByStatus(status);
+        } else if (customer != null) {
+            priceLists = priceListService.getPriceListsByCustomer(customer);
+        } else {
+            priceLists = priceListService.getAllPriceLists();
+        }
+        return ResponseEntity.ok(ApiResponse.success(priceLists));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<PriceList>> getPriceListById(@PathVariable Long id) {
+        try {
+            PriceList priceList = priceListService.getPriceListById(id);
+            return ResponseEntity.ok(ApiResponse.success(priceList));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/resolve")
+    public ResponseEntity<ApiResponse<BigDecimal>> resolvePrice(
+            @RequestParam String parameter,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            BigDecimal price = priceListService.resolvePrice(parameter, customer, date);
+            return ResponseEntity.ok(ApiResponse.success(price));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PriceList>> createPriceList(@RequestBody PriceList priceList) {
+        try {
+            PriceList created = priceListService.createPriceList(priceList);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Price list created successfully", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PriceList>> updatePriceList(
+            @PathVariable Long id,
+            @RequestBody PriceList priceList) {
+        try {
+            PriceList updated = priceListService.updatePriceList(id, priceList);
+            return ResponseEntity.ok(ApiResponse.success("Price list updated successfully", updated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/publish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PriceList>> publishPriceList(@PathVariable Long id) {
+        try {
+            PriceList published = priceListService.publishPriceList(id);
+            return ResponseEntity.ok(ApiResponse.success("Price list published", published));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/withdraw")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PriceList>> withdrawPriceList(@PathVariable Long id) {
+        try {
+            PriceList withdrawn = priceListService.withdrawPriceList(id);
+            return ResponseEntity.ok(ApiResponse.success("Price list withdrawn", withdrawn));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> deletePriceList(@PathVariable Long id) {
+        try {
+            priceListService.deletePriceList(id);
+            return ResponseEntity.ok(ApiResponse.success("Price list deleted successfully", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.lindel.lindel.controller;
 
 import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.QuotationGenerationResult;
+import com.lindel.lindel.dto.RepriceResult;
 import com.lindel.lindel.entity.Quotation;
+import com.lindel.lindel.service.QuotationBulkService;
 import com.lindel.lindel.service.QuotationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,6 +20,7 @@ import java.util.List;
 public class QuotationController {
 
     private final QuotationService quotationService;
+    private final QuotationBulkService quotationBulkService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Quotation>>> getAllQuotations() {
@@ -69,6 +74,44 @@ public class QuotationController {
         }
     }
 
+    @PostMapping("/generate/{requestId}")
+    public ResponseEntity<ApiResponse<Quotation>> generateFromRequest(@PathVariable Long requestId) {
+        try {
+            Quotation quotation = quotationService.generateFromRequest(requestId);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Quotation generated successfully", quotation));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/generate")
+    public ResponseEntity<ApiResponse<QuotationGenerationResult>> generateForPendingRequests(
+            @RequestParam(required = false) Integer limit) {
+        try {
+            QuotationGenerationResult result = quotationBulkService.generateForPendingRequests(limit);
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Generated " + result.getGenerated() + " of " + result.getConsidered() + " quotations", result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reprice")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RepriceResult>> repriceOpenQuotations(
+            @RequestParam(defaultValue = "false") boolean includeSent) {
+        try {
+            RepriceResult result = quotationBulkService.repriceOpenQuotations(includeSent);
+            return ResponseEntity.ok(ApiResponse.success("Re-priced " + result.getQuotationsUpdated() + " quotations", result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Quotation>> updateQuotation(
             @PathVariable Long id,
@@ -1,7 +1,11 @@
 package com.lindel.lindel.controller;
 
 import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.RequestConversionItem;
+import com.lindel.lindel.dto.RequestConversionRequest;
+import com.lindel.lindel.dto.RequestConversionResult;
 import com.lindel.lindel.entity.Request;
+import com.lindel.lindel.service.RequestConversionService;
 import com.lindel.lindel.service.RequestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,6 +20,7 @@ import java.util.List;
 public class RequestController {
 
     private final RequestService requestService;
+    private final RequestConversionService requestConversionService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Request>>> getAllRequests() {
@@ -93,6 +98,32 @@ public class RequestController {
         }
     }
 
+    /** Quotes (if needed), approves and creates the CRF with samples in one transaction. Safe to retry. */
+    @PostMapping("/{id}/convert")
+    public ResponseEntity<ApiResponse<RequestConversionItem>> convertRequest(
+            @PathVariable Long id,
+            @RequestBody(required = false) RequestConversionRequest options) {
+        try {
+            RequestConversionItem item = requestConversionService.convert(id, options);
+            String message = item.isAlreadyConverted() ? "Request already converted" : "Request converted successfully";
+            return ResponseEntity.ok(ApiResponse.success(message, item));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/convert")
+    public ResponseEntity<ApiResponse<RequestConversionResult>> convertRequests(@RequestBody RequestConversionRequest request) {
+        try {
+            RequestConversionResult result = requestConversionService.convertAll(request);
+            return ResponseEntity.ok(ApiResponse.success(result.getConverted() + " request(s) converted", result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteRequest(@PathVariable Long id) {
         try {
@@ -1,7 +1,12 @@
 package com.lindel.lindel.controller;
 
 import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.AutoAssignResult;
+import com.lindel.lindel.dto.BulkSampleRequest;
+import com.lindel.lindel.dto.BulkSampleResult;
 import com.lindel.lindel.entity.Sample;
+import com.lindel.lindel.service.SampleAutoAssignmentService;
+import com.lindel.lindel.service.SampleBulkService;
 import com.lindel.lindel.service.SampleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +22,8 @@ import java.util.Map;
 public class SampleController {
 
     private final SampleService sampleService;
+    private final SampleAutoAssignmentService sampleAutoAssignmentService;
+    private final SampleBulkService sampleBulkService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Sample>>> getAllSamples() {
@@ -77,6 +84,51 @@ public class SampleController {
         }
     }
 
+    @PostMapping("/auto-assign")
+    public ResponseEntity<ApiResponse<AutoAssignResult>> autoAssign(
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            AutoAssignResult result = sampleAutoAssignmentService.autoAssign(dryRun, limit);
+            String message = (dryRun ? "Auto-assignment preview: " : "Auto-assigned ")
+                    + result.getAssignedCount() + " of " + result.getConsidered() + " samples";
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkSampleResult>> bulkUpdate(@RequestBody BulkSampleRequest request) {
+        try {
+            String operation = request.getOperation() == null ? "" : request.getOperation().trim().toLowerCase();
+            BulkSampleResult result = switch (operation) {
+                case "assign" -> sampleBulkService.bulkAssign(request.getIds(), request.getCrfId(), request.getChemist());
+                case "status" -> sampleBulkService.bulkUpdateStatus(request.getIds(), request.getCrfId(), request.getStatus());
+                default -> throw new RuntimeException("Unsupported bulk operation: " + request.getOperation());
+            };
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Updated " + result.getSucceeded() + " of " + result.getRequested() + " samples", result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PatchMapping("/test-values")
+    public ResponseEntity<ApiResponse<BulkSampleResult>> bulkUpdateTestValues(
+            @RequestBody Map<Long, Map<String, String>> testValues) {
+        try {
+            BulkSampleResult result = sampleBulkService.bulkUpdateTestValues(testValues);
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Test values updated for " + result.getSucceeded() + " of " + result.getRequested() + " samples", result));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PatchMapping("/{id}/test-values")
     public ResponseEntity<ApiResponse<Sample>> updateTestValues(
             @PathVariable Long id,
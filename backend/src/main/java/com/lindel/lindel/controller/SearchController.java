@@ -0,0 +1,64 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.CustomerMatch;
+import com.lindel.lindel.dto.SearchHit;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.service.CustomerSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final CustomerSearchService customerSearchService;
+    private final SearchIndexer searchIndexer;
+
+    /** Typeahead over CRF, sample, request and quotation IDs, customers, parameters and notes. */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHit>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<SearchHit> hits = searchIndexer.search(q, types, limit);
+            return ResponseEntity.ok(ApiResponse.success(hits));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildIndex() {
+        try {
+            Map<String, Object> summary = searchIndexer.rebuild();
+            return ResponseEntity.ok(ApiResponse.success("Search index rebuilt", summary));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/customers")
+    public ResponseEntity<ApiResponse<List<CustomerMatch>>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<CustomerMatch> matches = customerSearchService.search(q, limit);
+            return ResponseEntity.ok(ApiResponse.success(matches));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
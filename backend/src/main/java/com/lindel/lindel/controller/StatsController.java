@@ -0,0 +1,22 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.dto.StatusHistogram;
+import com.lindel.lindel.service.StatusHistogramService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatusHistogramService statusHistogramService;
+
+    /** Every entity's per-status counts in one call, served from memory. */
+    @GetMapping("/status-histogram")
+    public ResponseEntity<ApiResponse<StatusHistogram>> getStatusHistogram() {
+        return ResponseEntity.ok(ApiResponse.success(statusHistogramService.getHistogram()));
+    }
+}
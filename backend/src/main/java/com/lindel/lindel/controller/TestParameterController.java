@@ -0,0 +1,86 @@
+package com.lindel.lindel.controller;
+
+import com.lindel.lindel.dto.ApiResponse;
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.service.TestParameterCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/test-parameters")
+@RequiredArgsConstructor
+public class TestParameterController {
+
+    private final TestParameterCatalog testParameterCatalog;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<TestParameter>>> getTestParameters(
+            @RequestParam(required = false) String sampleType) {
+        List<TestParameter> parameters = sampleType == null || sampleType.isBlank()
+                ? testParameterCatalog.getAll()
+                : testParameterCatalog.getForSampleType(sampleType);
+        return ResponseEntity.ok(ApiResponse.success(parameters));
+    }
+
+    @GetMapping("/name/{name}")
+    public ResponseEntity<ApiResponse<TestParameter>> getTestParameterByName(@PathVariable String name) {
+        try {
+            TestParameter parameter = testParameterCatalog.getByName(name);
+            return ResponseEntity.ok(ApiResponse.success(parameter));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TestParameter>> createTestParameter(@RequestBody TestParameter parameter) {
+        try {
+            TestParameter created = testParameterCatalog.create(parameter);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Test parameter created successfully", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TestParameter>> updateTestParameter(
+            @PathVariable Long id,
+            @RequestBody TestParameter parameter) {
+        try {
+            TestParameter updated = testParameterCatalog.update(id, parameter);
+            return ResponseEntity.ok(ApiResponse.success("Test parameter updated successfully", updated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> deactivateTestParameter(@PathVariable Long id) {
+        try {
+            testParameterCatalog.deactivate(id);
+            return ResponseEntity.ok(ApiResponse.success("Test parameter deactivated successfully", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Long>> reloadCatalog() {
+        long version = testParameterCatalog.reload().version();
+        return ResponseEntity.ok(ApiResponse.success("Test parameter catalog reloaded", version));
+    }
+}
@@ -0,0 +1,24 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the audit log query. Null fields are ignored;
+ * {@code from} is inclusive and {@code to} exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilter {
+
+    private String username;
+    private String module;
+    private String action;
+    private String status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,23 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoAssignResult {
+
+    private boolean dryRun;
+    private int considered;
+    private int assignedCount;
+    private int unassignedCount;
+    private List<SampleAssignment> assigned;
+    private List<SampleAssignment> unassigned;
+    // Active samples per chemist after the run (planned load for a dry run)
+    private Map<String, Integer> chemistLoad;
+}
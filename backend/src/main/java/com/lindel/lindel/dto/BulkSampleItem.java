@@ -0,0 +1,19 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSampleItem {
+
+    private Long id;
+    private String sampleId;
+    private boolean success;
+    private String previousStatus;
+    private String status;
+    private String assignedTo;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSampleRequest {
+
+    private String operation; // assign, status
+    // Either sample ids or a CRF id selects the samples
+    private List<Long> ids;
+    private Long crfId;
+    private String chemist;
+    private String status;
+}
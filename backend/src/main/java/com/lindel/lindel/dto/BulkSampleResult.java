@@ -0,0 +1,19 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSampleResult {
+
+    private String operation;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BulkSampleItem> items;
+}
@@ -0,0 +1,21 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the paginated CRF list. Null fields are ignored;
+ * {@code customer} is matched as a case-insensitive prefix.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CRFFilter {
+
+    private String status;
+    private String priority;
+    private String sampleType;
+    private String crfType;
+    private String customer;
+}
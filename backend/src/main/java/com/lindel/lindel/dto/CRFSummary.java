@@ -0,0 +1,35 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight CRF row for list views. Leaves out the signature, sample images,
+ * test parameters and samples so a page can be read with a single SELECT.
+ * Field order must match the constructor expression in CRFRepositoryImpl.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CRFSummary {
+
+    private Long id;
+    private String crfId;
+    private String crfType;
+    private String customer;
+    private String contact;
+    private String email;
+    private String sampleType;
+    private Integer numberOfSamples;
+    private String samplingType;
+    private LocalDateTime receptionDate;
+    private String receivedBy;
+    private String priority;
+    private String status;
+    private String quotationRef;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChemistLoad {
+
+    private Long chemistId;
+    private String chemistName;
+    private long activeTasks;
+    private long completedThisWeek;
+    private long pendingTests;
+    private long overdueTests;
+}
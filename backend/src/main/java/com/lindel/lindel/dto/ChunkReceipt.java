@@ -0,0 +1,15 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkReceipt {
+
+    private Integer index;
+    private Long size;
+    private String sha256;
+}
@@ -0,0 +1,19 @@
+package com.lindel.lindel.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompleteUploadRequest {
+
+    @NotBlank(message = "Sampling points data is required")
+    private String samplingPointsData;
+
+    private String submittedBy;
+
+    private String sha256; // Optional checksum of the whole file, verified after assembly
+}
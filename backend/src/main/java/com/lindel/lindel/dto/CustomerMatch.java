@@ -0,0 +1,17 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerMatch {
+
+    private String customer;
+    private double score; // 1.0 = exact match
+    private long crfs;
+    private long requests;
+    private long quotations;
+}
@@ -0,0 +1,28 @@
+package com.lindel.lindel.dto;
+
+import com.lindel.lindel.entity.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whole dashboard payload, computed in one pass and shared by every viewer until it is refreshed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSnapshot {
+
+    private LocalDateTime generatedAt;
+    private Map<String, Map<String, Long>> statusCounts;
+    private int openCrfs;
+    private int overdueCount;
+    private int atRiskCount;
+    private List<DashboardTask> pendingTasks;
+    private List<ChemistLoad> chemistLoad;
+    private List<AuditLog> recentActivity;
+}
@@ -0,0 +1,27 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Open CRF on the dashboard work list. {@code status} is On Track, At Risk or Overdue
+ * against a due date derived from the reception date and priority.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardTask {
+
+    private Long id;
+    private String crfId;
+    private String customer;
+    private String sampleType;
+    private String taskType;
+    private String assignedTo;
+    private LocalDate dueDate;
+    private String priority;
+    private String status;
+}
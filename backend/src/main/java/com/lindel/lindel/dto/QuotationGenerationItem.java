@@ -0,0 +1,21 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuotationGenerationItem {
+
+    private Long requestId;
+    private String requestNumber;
+    private boolean success;
+    private Long quotationId;
+    private String quotationNumber;
+    private BigDecimal total;
+    private String message;
+}
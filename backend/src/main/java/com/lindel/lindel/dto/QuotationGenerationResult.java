@@ -0,0 +1,18 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuotationGenerationResult {
+
+    private int considered;
+    private int generated;
+    private int failed;
+    private List<QuotationGenerationItem> items;
+}
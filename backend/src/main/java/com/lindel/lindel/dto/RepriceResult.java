@@ -0,0 +1,16 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepriceResult {
+
+    private int parameters;
+    private int itemsUpdated;
+    private int quotationsUpdated;
+    private long durationMs;
+}
@@ -0,0 +1,22 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestConversionItem {
+
+    private Long requestId;
+    private String requestNumber;
+    private boolean success;
+    private boolean alreadyConverted;
+    private Long quotationId;
+    private String quotationNumber;
+    private Long crfId;
+    private String crfNumber;
+    private int samples;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestConversionRequest {
+
+    private List<Long> requestIds;
+    private String crfType; // CS or LS; defaults to requests.conversion.default-crf-type
+    private String samplingType;
+    private String receivedBy;
+}
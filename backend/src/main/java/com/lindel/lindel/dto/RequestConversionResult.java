@@ -0,0 +1,20 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestConversionResult {
+
+    private int requested;
+    private int converted;
+    private int alreadyConverted;
+    private int failed;
+    private long durationMs;
+    private List<RequestConversionItem> items;
+}
@@ -0,0 +1,22 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One sample in an auto-assignment run: the chosen chemist, or the reason none was chosen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SampleAssignment {
+
+    private Long id;
+    private String sampleId;
+    private String crfId;
+    private String priority;
+    private String category;
+    private String chemist;
+    private String reason;
+}
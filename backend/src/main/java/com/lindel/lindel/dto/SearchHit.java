@@ -0,0 +1,18 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+    private String type; // CRF, SAMPLE, REQUEST, QUOTATION, TEST_PARAMETER
+    private Long id;
+    private String key; // CRF ID, sample ID, request ID, quotation ID or parameter name
+    private String title;
+    private String subtitle;
+    private double score;
+}
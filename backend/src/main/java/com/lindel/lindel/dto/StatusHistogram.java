@@ -0,0 +1,20 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Row counts per status for each entity ("crf", "requests", "quotations", "samples").
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusHistogram {
+
+    private Map<String, Map<String, Long>> counts;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,30 @@
+package com.lindel.lindel.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+
+    @NotNull(message = "CRF id is required")
+    private Long crfId;
+
+    @NotBlank(message = "Map type is required")
+    private String mapType;
+
+    private String fileName;
+
+    private String contentType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    private Integer chunkSize; // Defaults to uploads.max-chunk-size
+}
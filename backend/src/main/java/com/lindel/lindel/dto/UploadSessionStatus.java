@@ -0,0 +1,28 @@
+package com.lindel.lindel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Upload progress returned to clients so they can resume by sending only
+ * the chunks listed in {@code missingChunks}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionStatus {
+
+    private String sessionId;
+    private String status;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private List<Integer> receivedChunks;
+    private List<Integer> missingChunks;
+    private Long environmentalSamplingId;
+    private LocalDateTime expiresAt;
+}
@@ -9,7 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_audit_logs_username_timestamp", columnList = "username, timestamp"),
+        @Index(name = "idx_audit_logs_module_timestamp", columnList = "module, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,8 +32,7 @@ public class AuditLog {
     @Column(nullable = false)
     private String module; // CRF, Request, Quotation, User Management, etc.
     
-    @Lob
-    @Column(length = 5000)
+    @Column(columnDefinition = "TEXT")
     private String details;
     
     private String ipAddress;
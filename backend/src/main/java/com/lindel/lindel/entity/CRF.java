@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "crfs")
+@Table(name = "crfs", indexes = {
+        @Index(name = "idx_crfs_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_crfs_status_created_at", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,7 +57,7 @@ public class CRF {
     private String receivedBy;
     
     @Column(columnDefinition = "TEXT")
-    private String signature; // Base64 encoded signature
+    private String signature; // Blob reference (/api/blobs/<sha256>)
     
     @Column(nullable = false)
     private String priority; // Normal, Urgent, Rush
@@ -67,7 +70,7 @@ public class CRF {
     @ElementCollection
     @CollectionTable(name = "crf_sample_images", joinColumns = @JoinColumn(name = "crf_id"))
     @Column(name = "image", length = 100000)
-    private List<String> sampleImages = new ArrayList<>();
+    private List<String> sampleImages = new ArrayList<>(); // Blob references; legacy rows may still hold base64
     
     @OneToMany(mappedBy = "crf", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Sample> samples = new ArrayList<>();
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -26,15 +27,23 @@ public class Chemist {
     private String email;
     private String specialization;
     
-    @Column(nullable = false)
+    // Counters are changed only by the atomic UPDATEs in ChemistRepository; entity saves never write them
+    @Column(nullable = false, updatable = false)
     private Integer activeTasks = 0;
     
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer completedThisWeek = 0;
     
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer completedThisMonth = 0;
     
+    // Week / month the completion counters belong to; counters restart when these fall behind
+    @Column(updatable = false)
+    private LocalDate weekStart;
+    
+    @Column(updatable = false)
+    private LocalDate monthStart;
+    
     @Column(nullable = false)
     private Boolean active = true;
     
@@ -0,0 +1,30 @@
+package com.lindel.lindel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counter row per document number prefix (e.g. "CRF/26/", "REQ-").
+ * Only DocumentNumberAllocator writes to it, one block of numbers at a time.
+ */
+@Entity
+@Table(name = "document_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSequence {
+
+    @Id
+    private String sequenceKey;
+
+    @Column(nullable = false)
+    private Long lastValue; // Highest number handed out to any node
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -31,7 +31,7 @@ public class EnvironmentalSampling {
     
     @Lob
     @Column(length = 100000)
-    private String mapImage; // Base64 encoded map/floor plan image
+    private String mapImage; // Blob reference to the map/floor plan image
     
     private String submittedBy;
     
@@ -0,0 +1,58 @@
+package com.lindel.lindel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "price_lists", indexes = {
+        @Index(name = "idx_price_lists_status_effective", columnList = "status, effective_from")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceList {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String name; // e.g., "2026 Standard Rates"
+    
+    private String customer; // null for the standard list, otherwise a customer-specific override
+    
+    @Column(nullable = false)
+    private LocalDate effectiveFrom;
+    
+    @ElementCollection
+    @CollectionTable(name = "price_list_entries", joinColumns = @JoinColumn(name = "price_list_id"))
+    @MapKeyColumn(name = "parameter")
+    @Column(name = "unit_price", precision = 10, scale = 2, nullable = false)
+    private Map<String, BigDecimal> prices = new HashMap<>();
+    
+    @Column(nullable = false)
+    private String status; // draft, published, withdrawn
+    
+    private LocalDateTime publishedAt;
+    private String publishedBy;
+    
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -65,18 +65,3 @@ public class Quotation {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 }
-
-@Embeddable
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-class QuotationItem {
-    private String parameter;
-    private Integer quantity;
-    
-    @Column(precision = 10, scale = 2)
-    private BigDecimal unitPrice;
-    
-    @Column(precision = 10, scale = 2)
-    private BigDecimal totalPrice;
-}
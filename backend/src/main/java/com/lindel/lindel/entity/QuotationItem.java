@@ -0,0 +1,24 @@
+package com.lindel.lindel.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuotationItem {
+    private String parameter;
+    private Integer quantity;
+    
+    @Column(precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+    
+    @Column(precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+}
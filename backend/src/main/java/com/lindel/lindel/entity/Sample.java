@@ -19,8 +19,10 @@ import java.util.Map;
 @AllArgsConstructor
 public class Sample {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch sample inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sample_seq")
+    @SequenceGenerator(name = "sample_seq", sequenceName = "samples_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -0,0 +1,60 @@
+package com.lindel.lindel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String sessionId; // UUID handed to the client
+
+    @Column(nullable = false)
+    private Long crfId; // CRF the finished EnvironmentalSampling belongs to
+
+    @Column(nullable = false)
+    private String mapType; // Floor Plan, Site Map, etc.
+
+    private String fileName;
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private Integer totalChunks;
+
+    @Column(nullable = false)
+    private String status; // open, completed, aborted
+
+    private String submittedBy;
+
+    private Long environmentalSamplingId; // Set once the session is completed
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
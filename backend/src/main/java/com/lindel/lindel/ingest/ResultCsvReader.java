@@ -0,0 +1,104 @@
+package com.lindel.lindel.ingest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an instrument CSV export one record at a time. The delimiter (comma, semicolon or tab)
+ * is taken from the header line; quoted fields may contain delimiters and doubled quotes but
+ * not line breaks, which instrument exports do not produce.
+ */
+class ResultCsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private char delimiter = ',';
+    private long lineNumber;
+
+    ResultCsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /** Reads the first non-blank line as the header and picks the delimiter from it. */
+    List<String> readHeader() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        if (line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        delimiter = pickDelimiter(line);
+        return split(line);
+    }
+
+    /** Returns the next non-blank record, or null at end of file. */
+    List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        return split(line);
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static char pickDelimiter(String header) {
+        char best = ',';
+        long bestCount = header.chars().filter(c -> c == ',').count();
+        for (char candidate : new char[]{';', '\t'}) {
+            long count = header.chars().filter(c -> c == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,351 @@
+package com.lindel.lindel.ingest;
+
+import com.lindel.lindel.dto.BulkSampleResult;
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import com.lindel.lindel.service.SampleBulkService;
+import com.lindel.lindel.service.TestParameterCatalog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Ingests instrument result exports dropped into {@code ingest.results.dir}.
+ * <p>
+ * A background thread waits on a {@link WatchService} for the inbox and also rescans it on every
+ * wake-up, so files present at startup or missed through an event overflow are still picked up.
+ * A file is taken once it has not been modified for {@code settle-ms}. It is streamed line by
+ * line: rows are matched to samples by sampleId and to active test parameters by name through the {@link TestParameterCatalog}, and
+ * applied through {@link SampleBulkService#bulkUpdateTestValues} every {@code batch-size} rows,
+ * one transaction per batch. The file then moves to the done folder (or the error folder if it
+ * could not be read through or nothing in it applied) together with a {@code .report.txt}.
+ * <p>
+ * Two layouts are accepted: long ({@code sampleId,parameter,value} per row) and wide
+ * ({@code sampleId} followed by one column per parameter).
+ */
+@Component
+@ConditionalOnProperty(name = "ingest.results.enabled", havingValue = "true")
+@Slf4j
+public class ResultFileIngester implements MetricsSource {
+
+    private static final Set<String> SAMPLE_COLUMNS = Set.of("sampleid", "sample", "samplenumber", "sampleno");
+    private static final Set<String> PARAMETER_COLUMNS = Set.of("parameter", "test", "testparameter", "analyte");
+    private static final Set<String> VALUE_COLUMNS = Set.of("value", "result", "testvalue", "reading");
+    private static final String SAMPLE_LOOKUP_SQL = "SELECT sample_id, id FROM samples WHERE sample_id = ANY(?)";
+    private static final DateTimeFormatter COLLISION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final SampleBulkService sampleBulkService;
+    private final TestParameterCatalog testParameterCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path inbox;
+    private final Path doneDir;
+    private final Path errorDir;
+    private final int batchSize;
+    private final long settleMs;
+    private final int maxReportedErrors;
+
+    private final LongAdder filesDone = new LongAdder();
+    private final LongAdder filesFailed = new LongAdder();
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder resultsApplied = new LongAdder();
+    private final LongAdder entriesRejected = new LongAdder();
+    private final LatencyRecorder batchLatency = new LatencyRecorder();
+
+    private volatile boolean running;
+    private Thread watcherThread;
+    private WatchService watchService;
+
+    public ResultFileIngester(SampleBulkService sampleBulkService,
+                              TestParameterCatalog testParameterCatalog,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${ingest.results.dir:./data/ingest/inbox}") String inbox,
+                              @Value("${ingest.results.done-dir:./data/ingest/done}") String doneDir,
+                              @Value("${ingest.results.error-dir:./data/ingest/error}") String errorDir,
+                              @Value("${ingest.results.batch-size:1000}") int batchSize,
+                              @Value("${ingest.results.settle-ms:1000}") long settleMs,
+                              @Value("${ingest.results.max-reported-errors:100}") int maxReportedErrors) {
+        this.sampleBulkService = sampleBulkService;
+        this.testParameterCatalog = testParameterCatalog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inbox = Paths.get(inbox).toAbsolutePath();
+        this.doneDir = Paths.get(doneDir).toAbsolutePath();
+        this.errorDir = Paths.get(errorDir).toAbsolutePath();
+        this.batchSize = Math.max(1, batchSize);
+        this.settleMs = Math.max(0, settleMs);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Files.createDirectories(inbox);
+        Files.createDirectories(doneDir);
+        Files.createDirectories(errorDir);
+        watchService = FileSystems.getDefault().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        running = true;
+        watcherThread = new Thread(this::watchLoop, "result-ingest");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching {} for instrument result files", inbox);
+    }
+
+    private void watchLoop() {
+        while (running) {
+            try {
+                boolean waiting = false;
+                for (Path file : listInbox()) {
+                    if (System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() < settleMs) {
+                        waiting = true;
+                    } else {
+                        ingest(file);
+                    }
+                }
+                // Wake on the next inbox change, or after settle-ms when a file is still being written
+                WatchKey key = watchService.poll(waiting ? Math.max(settleMs, 50) : 60_000, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Scanning {} for result files failed: {}", inbox, e.getMessage());
+                try {
+                    Thread.sleep(Math.max(settleMs, 1_000));
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<Path> listInbox() throws IOException {
+        try (Stream<Path> files = Files.list(inbox)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return !name.startsWith(".") && !name.endsWith(".part") && !name.endsWith(".tmp");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    void ingest(Path file) throws IOException {
+        ResultFileReport report = new ResultFileReport(file.getFileName().toString(), maxReportedErrors);
+        try {
+            parse(file, report);
+        } catch (IOException | RuntimeException e) {
+            report.failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+
+        Path target = moveTo(file, report.failed() ? errorDir : doneDir);
+        Files.writeString(target.resolveSibling(target.getFileName() + ".report.txt"), report.render(), StandardCharsets.UTF_8);
+        (report.failed() ? filesFailed : filesDone).increment();
+        rowsRead.add(report.rowsRead);
+        resultsApplied.add(report.resultsApplied);
+        entriesRejected.add(report.entriesRejected);
+        log.info("Ingested {}: {} rows, {} results applied, {} rejected{}", file.getFileName(), report.rowsRead,
+                report.resultsApplied, report.entriesRejected, report.failed() ? " -> error" : "");
+    }
+
+    private void parse(Path file, ResultFileReport report) throws IOException {
+        TestParameterCatalog.Snapshot parameters = testParameterCatalog.snapshot();
+
+        try (ResultCsvReader reader = new ResultCsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> header = reader.readHeader();
+            if (header == null) {
+                throw new IOException("File is empty");
+            }
+            int sampleColumn = column(header, SAMPLE_COLUMNS);
+            if (sampleColumn < 0) {
+                throw new IOException("Header has no sampleId column: " + header);
+            }
+            int parameterColumn = column(header, PARAMETER_COLUMNS);
+            int valueColumn = column(header, VALUE_COLUMNS);
+            boolean longFormat = parameterColumn >= 0 && valueColumn >= 0;
+            report.format = longFormat ? "long (sampleId, parameter, value)" : "wide (sampleId, one column per parameter)";
+
+            // Wide layout: resolve every parameter column once
+            String[] wideParameters = new String[header.size()];
+            if (!longFormat) {
+                for (int i = 0; i < header.size(); i++) {
+                    if (i != sampleColumn) {
+                        wideParameters[i] = parameters.find(header.get(i)).map(TestParameter::getName).orElse(null);
+                    }
+                }
+            }
+
+            Batch batch = new Batch();
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                report.rowsRead++;
+                long line = reader.lineNumber();
+                String sampleId = field(row, sampleColumn);
+                if (sampleId.isEmpty()) {
+                    report.reject(line, "missing sampleId");
+                    continue;
+                }
+                if (longFormat) {
+                    String parameter = parameters.find(field(row, parameterColumn)).map(TestParameter::getName).orElse(null);
+                    if (parameter == null) {
+                        report.reject(line, "unknown test parameter '" + field(row, parameterColumn) + "'");
+                        continue;
+                    }
+                    batch.add(line, sampleId, parameter, field(row, valueColumn));
+                } else {
+                    for (int i = 0; i < row.size(); i++) {
+                        if (i == sampleColumn || row.get(i).isEmpty()) {
+                            continue;
+                        }
+                        if (i >= header.size()) {
+                            report.reject(line, "value in column " + (i + 1) + " has no header");
+                            continue;
+                        }
+                        if (wideParameters[i] == null) {
+                            report.reject(line, "unknown test parameter '" + header.get(i) + "'");
+                            continue;
+                        }
+                        batch.add(line, sampleId, wideParameters[i], row.get(i));
+                    }
+                }
+                if (batch.size >= batchSize) {
+                    apply(batch, report);
+                    batch = new Batch();
+                }
+            }
+            apply(batch, report);
+        }
+    }
+
+    /** Resolves the batch's sampleIds with one query and applies its results in one transaction. */
+    private void apply(Batch batch, ResultFileReport report) {
+        if (batch.size == 0) {
+            return;
+        }
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SAMPLE_LOOKUP_SQL, rs -> {
+            ids.put(rs.getString(1), rs.getLong(2));
+        }, (Object) batch.bySample.keySet().toArray(String[]::new));
+
+        Map<Long, Map<String, String>> values = new LinkedHashMap<>();
+        long results = 0;
+        for (Map.Entry<String, Map<String, String>> entry : batch.bySample.entrySet()) {
+            Long id = ids.get(entry.getKey());
+            if (id == null) {
+                for (Long line : batch.linesBySample.get(entry.getKey())) {
+                    report.reject(line, "unknown sample '" + entry.getKey() + "'");
+                }
+                continue;
+            }
+            values.put(id, entry.getValue());
+            results += entry.getValue().size();
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        BulkSampleResult result = sampleBulkService.bulkUpdateTestValues(values);
+        batchLatency.record(System.nanoTime() - started);
+        report.resultsApplied += results;
+        report.samplesUpdated += result.getSucceeded();
+    }
+
+    private Path moveTo(Path file, Path directory) throws IOException {
+        Path target = directory.resolve(file.getFileName());
+        if (Files.exists(target)) {
+            target = directory.resolve(LocalDateTime.now().format(COLLISION_SUFFIX) + "-" + file.getFileName());
+        }
+        try {
+            return Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            return Files.move(file, target);
+        }
+    }
+
+    private static int column(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            if (names.contains(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> row, int index) {
+        return index < row.size() ? row.get(index) : "";
+    }
+
+    /** Results of up to batch-size rows, grouped by sample; a later value for the same parameter wins. */
+    private static final class Batch {
+        private final Map<String, Map<String, String>> bySample = new LinkedHashMap<>();
+        private final Map<String, Set<Long>> linesBySample = new HashMap<>();
+        private int size;
+
+        private void add(long line, String sampleId, String parameter, String value) {
+            bySample.computeIfAbsent(sampleId, id -> new LinkedHashMap<>()).put(parameter, value);
+            linesBySample.computeIfAbsent(sampleId, id -> new HashSet<>()).add(line);
+            size++;
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "result-ingest";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("inbox", inbox.toString());
+        values.put("filesDone", filesDone.sum());
+        values.put("filesFailed", filesFailed.sum());
+        values.put("rowsRead", rowsRead.sum());
+        values.put("resultsApplied", resultsApplied.sum());
+        values.put("entriesRejected", entriesRejected.sum());
+        values.putAll(batchLatency.snapshot("batch"));
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        if (watcherThread != null) {
+            watchService.close();
+            watcherThread.interrupt();
+            watcherThread.join(5_000);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lindel.lindel.ingest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of ingesting one result file, written next to the file in the done or error folder. */
+class ResultFileReport {
+
+    private final String fileName;
+    private final int maxErrors;
+    private final LocalDateTime started = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final List<String> errors = new ArrayList<>();
+
+    String format;
+    long rowsRead;
+    long resultsApplied;
+    long samplesUpdated;
+    long entriesRejected;
+    String failure;
+
+    ResultFileReport(String fileName, int maxErrors) {
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    void reject(long line, String reason) {
+        entriesRejected++;
+        if (errors.size() < maxErrors) {
+            errors.add("line " + line + ": " + reason);
+        }
+    }
+
+    /** A file goes to the error folder if it could not be read through or nothing in it applied. */
+    boolean failed() {
+        return failure != null || (resultsApplied == 0 && entriesRejected > 0);
+    }
+
+    String render() {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+        double minutes = Math.max(elapsed.toNanos(), 1) / 60_000_000_000.0;
+        StringBuilder text = new StringBuilder();
+        text.append("File: ").append(fileName).append('\n');
+        text.append("Started: ").append(started).append('\n');
+        text.append("Finished: ").append(LocalDateTime.now()).append('\n');
+        text.append("Outcome: ").append(failed() ? "ERROR" : "DONE").append('\n');
+        if (format != null) {
+            text.append("Format: ").append(format).append('\n');
+        }
+        text.append("Rows read: ").append(rowsRead).append('\n');
+        text.append("Results applied: ").append(resultsApplied).append('\n');
+        text.append("Samples updated: ").append(samplesUpdated).append('\n');
+        text.append("Entries rejected: ").append(entriesRejected).append('\n');
+        text.append("Duration: ").append(elapsed.toMillis()).append(" ms (")
+                .append(Math.round(rowsRead / minutes)).append(" rows/min)\n");
+        if (failure != null) {
+            text.append("Failure: ").append(failure).append('\n');
+        }
+        if (!errors.isEmpty()) {
+            text.append("Rejected entries");
+            if (entriesRejected > errors.size()) {
+                text.append(" (first ").append(errors.size()).append(" of ").append(entriesRejected).append(')');
+            }
+            text.append(":\n");
+            errors.forEach(error -> text.append("  ").append(error).append('\n'));
+        }
+        return text.toString();
+    }
+}
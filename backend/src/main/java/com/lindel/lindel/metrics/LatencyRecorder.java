@@ -0,0 +1,36 @@
+package com.lindel.lindel.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free count / mean / max of recorded durations.
+ */
+public class LatencyRecorder {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /** Snapshot with {@code <prefix>Count}, {@code <prefix>AvgMs} and {@code <prefix>MaxMs}. */
+    public Map<String, Object> snapshot(String prefix) {
+        long n = count.sum();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(prefix + "Count", n);
+        values.put(prefix + "AvgMs", n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000.0);
+        values.put(prefix + "MaxMs", maxNanos.get() / 1_000_000.0);
+        return values;
+    }
+}
@@ -0,0 +1,14 @@
+package com.lindel.lindel.metrics;
+
+import java.util.Map;
+
+/**
+ * Component that exposes a point-in-time snapshot of its own counters
+ * through {@code /api/metrics}.
+ */
+public interface MetricsSource {
+
+    String metricsName();
+
+    Map<String, Object> metrics();
+}
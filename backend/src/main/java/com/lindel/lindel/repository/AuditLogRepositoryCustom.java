@@ -0,0 +1,16 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.dto.AuditLogFilter;
+import com.lindel.lindel.dto.KeysetCursor;
+import com.lindel.lindel.entity.AuditLog;
+
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Audit entries matching {@code filter}, newest first, strictly after {@code after}
+     * in (timestamp desc, id desc) order when a cursor is given.
+     */
+    List<AuditLog> findPage(AuditLogFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,52 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.dto.AuditLogFilter;
+import com.lindel.lindel.dto.KeysetCursor;
+import com.lindel.lindel.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> log = query.from(AuditLog.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getUsername() != null) predicates.add(cb.equal(log.get("username"), filter.getUsername()));
+        if (filter.getModule() != null) predicates.add(cb.equal(log.get("module"), filter.getModule()));
+        if (filter.getAction() != null) predicates.add(cb.equal(log.get("action"), filter.getAction()));
+        if (filter.getStatus() != null) predicates.add(cb.equal(log.get("status"), filter.getStatus()));
+        // Timestamp bounds let PostgreSQL prune monthly partitions
+        if (filter.getFrom() != null) predicates.add(cb.greaterThanOrEqualTo(log.get("timestamp"), filter.getFrom()));
+        if (filter.getTo() != null) predicates.add(cb.lessThan(log.get("timestamp"), filter.getTo()));
+
+        // Keyset predicate: (timestamp, id) < (cursor.timestamp, cursor.id), plus a plain
+        // timestamp upper bound so the index range scan and partition pruning still apply
+        if (after != null) {
+            predicates.add(cb.lessThanOrEqualTo(log.get("timestamp"), after.timestamp()));
+            predicates.add(cb.or(
+                    cb.lessThan(log.get("timestamp"), after.timestamp()),
+                    cb.lessThan(log.get("id"), after.id())));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(log.get("timestamp")), cb.desc(log.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
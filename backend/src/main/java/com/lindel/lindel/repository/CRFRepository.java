@@ -7,11 +7,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CRFRepository extends JpaRepository<CRF, Long> {
+public interface CRFRepository extends JpaRepository<CRF, Long>, CRFRepositoryCustom {
     
     Optional<CRF> findByCrfId(String crfId);
     
@@ -31,6 +32,7 @@ public interface CRFRepository extends JpaRepository<CRF, Long> {
     
     Boolean existsByCrfId(String crfId);
     
-    @Query("SELECT COUNT(c) FROM CRF c WHERE YEAR(c.createdAt) = :year")
-    Long countByYear(@Param("year") int year);
+    /** (CRF id, parameter name) pairs for the given CRFs, loaded in one query. */
+    @Query("SELECT c.id, p FROM CRF c JOIN c.testParameters p WHERE c.id IN :ids")
+    List<Object[]> findTestParameterNames(@Param("ids") Collection<Long> ids);
 }
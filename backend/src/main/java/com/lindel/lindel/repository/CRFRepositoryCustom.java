@@ -0,0 +1,16 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.dto.CRFFilter;
+import com.lindel.lindel.dto.CRFSummary;
+import com.lindel.lindel.dto.KeysetCursor;
+
+import java.util.List;
+
+public interface CRFRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} CRF summaries ordered by (createdAt, id) descending,
+     * starting strictly after {@code after} when it is not null.
+     */
+    List<CRFSummary> findSummaries(CRFFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,73 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.dto.CRFFilter;
+import com.lindel.lindel.dto.CRFSummary;
+import com.lindel.lindel.dto.KeysetCursor;
+import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.service.CustomerSearchService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CRFRepositoryImpl implements CRFRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CRFSummary> findSummaries(CRFFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CRFSummary> query = cb.createQuery(CRFSummary.class);
+        Root<CRF> crf = query.from(CRF.class);
+
+        query.select(cb.construct(CRFSummary.class,
+                crf.get("id"),
+                crf.get("crfId"),
+                crf.get("crfType"),
+                crf.get("customer"),
+                crf.get("contact"),
+                crf.get("email"),
+                crf.get("sampleType"),
+                crf.get("numberOfSamples"),
+                crf.get("samplingType"),
+                crf.get("receptionDate"),
+                crf.get("receivedBy"),
+                crf.get("priority"),
+                crf.get("status"),
+                crf.get("quotationRef"),
+                crf.get("createdAt"),
+                crf.get("updatedAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) predicates.add(cb.equal(crf.get("status"), filter.getStatus()));
+        if (filter.getPriority() != null) predicates.add(cb.equal(crf.get("priority"), filter.getPriority()));
+        if (filter.getSampleType() != null) predicates.add(cb.equal(crf.get("sampleType"), filter.getSampleType()));
+        if (filter.getCrfType() != null) predicates.add(cb.equal(crf.get("crfType"), filter.getCrfType()));
+        if (filter.getCustomer() != null) {
+            String prefix = CustomerSearchService.escapeLike(filter.getCustomer().toLowerCase()) + "%";
+            predicates.add(cb.like(cb.lower(crf.get("customer")), prefix, '\\'));
+        }
+
+        // Keyset predicate: (createdAt, id) < (cursor.timestamp, cursor.id)
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(crf.get("createdAt"), after.timestamp()),
+                    cb.and(
+                            cb.equal(crf.get("createdAt"), after.timestamp()),
+                            cb.lessThan(crf.get("id"), after.id()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(crf.get("createdAt")), cb.desc(crf.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,8 +2,13 @@ package com.lindel.lindel.repository;
 
 import com.lindel.lindel.entity.Chemist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +22,60 @@ public interface ChemistRepository extends JpaRepository<Chemist, Long> {
     List<Chemist> findBySpecialization(String specialization);
     
     Boolean existsByName(String name);
+    
+    // Workload counters are only changed by single UPDATE statements, never read-modify-write
+    
+    @Modifying
+    @Query(value = "UPDATE chemists SET active_tasks = GREATEST(active_tasks + :delta, 0), updated_at = now() "
+            + "WHERE name = :name", nativeQuery = true)
+    int adjustActiveTasks(@Param("name") String name, @Param("delta") int delta);
+    
+    @Modifying
+    @Query(value = "UPDATE chemists SET active_tasks = GREATEST(active_tasks + :delta, 0), updated_at = now() "
+            + "WHERE id = :id", nativeQuery = true)
+    int adjustActiveTasksById(@Param("id") Long id, @Param("delta") int delta);
+    
+    @Modifying
+    @Query(value = "UPDATE chemists SET active_tasks = GREATEST(:activeTasks, 0), updated_at = now() "
+            + "WHERE id = :id", nativeQuery = true)
+    int setActiveTasks(@Param("id") Long id, @Param("activeTasks") int activeTasks);
+    
+    /** Counts completions, restarting a counter first if its period has rolled over. */
+    @Modifying
+    @Query(value = "UPDATE chemists SET "
+            + "active_tasks = GREATEST(active_tasks - :activeDecrement, 0), "
+            + "completed_this_week = CASE WHEN week_start = :weekStart THEN completed_this_week + :completed ELSE :completed END, "
+            + "completed_this_month = CASE WHEN month_start = :monthStart THEN completed_this_month + :completed ELSE :completed END, "
+            + "week_start = :weekStart, month_start = :monthStart, updated_at = now() "
+            + "WHERE name = :name", nativeQuery = true)
+    int recordCompletions(@Param("name") String name, @Param("completed") int completed,
+                          @Param("activeDecrement") int activeDecrement,
+                          @Param("weekStart") LocalDate weekStart, @Param("monthStart") LocalDate monthStart);
+    
+    /** Zeroes counters whose period has ended, for chemists with no completion since. */
+    @Modifying
+    @Query(value = "UPDATE chemists SET "
+            + "completed_this_week = CASE WHEN week_start IS DISTINCT FROM :weekStart THEN 0 ELSE completed_this_week END, "
+            + "completed_this_month = CASE WHEN month_start IS DISTINCT FROM :monthStart THEN 0 ELSE completed_this_month END, "
+            + "week_start = :weekStart, month_start = :monthStart "
+            + "WHERE week_start IS DISTINCT FROM :weekStart OR month_start IS DISTINCT FROM :monthStart", nativeQuery = true)
+    int rollOverPeriods(@Param("weekStart") LocalDate weekStart, @Param("monthStart") LocalDate monthStart);
+    
+    /** Recomputes every chemist's counters from samples with one GROUP BY. */
+    @Modifying
+    @Query(value = "UPDATE chemists c SET "
+            + "active_tasks = COALESCE(s.active, 0), "
+            + "completed_this_week = COALESCE(s.week, 0), "
+            + "completed_this_month = COALESCE(s.month, 0), "
+            + "week_start = :weekStart, month_start = :monthStart "
+            + "FROM chemists c2 LEFT JOIN ("
+            + "  SELECT assigned_to, "
+            + "         COUNT(*) FILTER (WHERE status IN ('assigned', 'testing')) AS active, "
+            + "         COUNT(*) FILTER (WHERE status = 'completed' AND completed_date >= :weekFrom) AS week, "
+            + "         COUNT(*) FILTER (WHERE status = 'completed' AND completed_date >= :monthFrom) AS month "
+            + "  FROM samples WHERE assigned_to IS NOT NULL GROUP BY assigned_to"
+            + ") s ON s.assigned_to = c2.name "
+            + "WHERE c.id = c2.id", nativeQuery = true)
+    int reconcileWorkload(@Param("weekStart") LocalDate weekStart, @Param("monthStart") LocalDate monthStart,
+                          @Param("weekFrom") LocalDateTime weekFrom, @Param("monthFrom") LocalDateTime monthFrom);
 }
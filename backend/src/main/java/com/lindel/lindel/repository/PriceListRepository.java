@@ -0,0 +1,19 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.entity.PriceList;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PriceListRepository extends JpaRepository<PriceList, Long> {
+    
+    List<PriceList> findByStatusOrderByEffectiveFromDesc(String status);
+    
+    List<PriceList> findByCustomerIgnoreCaseOrderByEffectiveFromDesc(String customer);
+    
+    @Query("SELECT DISTINCT p FROM PriceList p LEFT JOIN FETCH p.prices WHERE p.status = 'published'")
+    List<PriceList> findPublishedWithPrices();
+}
@@ -1,7 +1,11 @@
 package com.lindel.lindel.repository;
 
 import com.lindel.lindel.entity.Request;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +27,8 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     Long countByStatus(String status);
     
     Boolean existsByRequestId(String requestId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Request r WHERE r.id = :id")
+    Optional<Request> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,9 +1,9 @@
 package com.lindel.lindel.repository;
 
 import com.lindel.lindel.entity.Sample;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,6 +28,10 @@ public interface SampleRepository extends JpaRepository<Sample, Long> {
     
     Boolean existsBySampleId(String sampleId);
     
-    @Query("SELECT COUNT(s) FROM Sample s WHERE s.sampleId LIKE :prefix%")
-    Long countBySampleIdPrefix(@Param("prefix") String prefix);
+    /** Pending, unassigned samples with their CRF, most urgent CRFs and oldest receptions first. */
+    @Query("SELECT s FROM Sample s JOIN FETCH s.crf c "
+            + "WHERE s.status = 'pending' AND s.assignedTo IS NULL "
+            + "ORDER BY CASE LOWER(c.priority) WHEN 'rush' THEN 0 WHEN 'urgent' THEN 1 ELSE 2 END, "
+            + "c.receptionDate, s.id")
+    List<Sample> findUnassignedPending(Pageable pageable);
 }
@@ -2,6 +2,7 @@ package com.lindel.lindel.repository;
 
 import com.lindel.lindel.entity.TestParameter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +22,7 @@ public interface TestParameterRepository extends JpaRepository<TestParameter, Lo
     List<TestParameter> findByNameContainingIgnoreCase(String name);
     
     Boolean existsByName(String name);
+    
+    @Query("SELECT DISTINCT p FROM TestParameter p LEFT JOIN FETCH p.applicableSampleTypes WHERE p.active = true ORDER BY p.name")
+    List<TestParameter> findActiveWithSampleTypes();
 }
@@ -0,0 +1,25 @@
+package com.lindel.lindel.repository;
+
+import com.lindel.lindel.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findBySessionId(String sessionId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UploadSession u WHERE u.sessionId = :sessionId")
+    Optional<UploadSession> findBySessionIdForUpdate(@Param("sessionId") String sessionId);
+
+    List<UploadSession> findByStatusAndExpiresAtBefore(String status, LocalDateTime time);
+}
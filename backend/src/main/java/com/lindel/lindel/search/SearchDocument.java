@@ -0,0 +1,17 @@
+package com.lindel.lindel.search;
+
+/**
+ * One indexed entity: {@code key} is its business identifier (CRF ID, sample ID, ...) and
+ * {@code normalizedKey} its tokens joined by spaces, {@code title}/{@code subtitle} are shown in
+ * results and {@code terms} are its distinct tokens.
+ */
+record SearchDocument(SearchType type, long id, String key, String normalizedKey, String title, String subtitle,
+                      String[] terms) {
+
+    Ref ref() {
+        return new Ref(type, id);
+    }
+
+    record Ref(SearchType type, long id) {
+    }
+}
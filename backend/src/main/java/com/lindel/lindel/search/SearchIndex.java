@@ -0,0 +1,289 @@
+package com.lindel.lindel.search;
+
+import com.lindel.lindel.search.SearchDocument.Ref;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Inverted index of {@link SearchDocument}s, safe for concurrent reads and writes.
+ * <p>
+ * Postings live in a hash map (term to document refs). A sorted set of all terms serves prefix
+ * lookups for the last, still-being-typed query token. A term is added to or removed from that
+ * set inside the posting map's atomic {@code compute}, so the two never disagree about a term.
+ * Writes to one document are serialized by a striped lock; reads take no locks.
+ */
+final class SearchIndex {
+
+    /** Prefix expansion stops after this many terms, so one-letter queries stay cheap. */
+    static final int MAX_PREFIX_TERMS = 512;
+    /** Matching stops after this many hits; they are then ranked and cut to the limit. */
+    static final int MAX_CANDIDATES = 500;
+    /** Matching also stops after checking this many postings, which bounds multi-token queries. */
+    static final int MAX_SCANNED = 20_000;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<Ref, SearchDocument> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Ref>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Ref>> keys = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    SearchIndex() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** Lower-cased runs of letters and digits; "CRF/26/14" becomes crf, 26, 14. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static SearchDocument document(SearchType type, long id, String key, String title, String subtitle, String... texts) {
+        List<String> keyTokens = tokenize(key);
+        Set<String> distinct = new LinkedHashSet<>(keyTokens);
+        for (String text : texts) {
+            distinct.addAll(tokenize(text));
+        }
+        return new SearchDocument(type, id, key, String.join(" ", keyTokens), title, subtitle,
+                distinct.toArray(String[]::new));
+    }
+
+    void put(SearchDocument document) {
+        Ref ref = document.ref();
+        synchronized (lockFor(ref)) {
+            SearchDocument previous = documents.put(ref, document);
+            if (previous != null && !previous.normalizedKey().equals(document.normalizedKey())) {
+                unkey(previous.normalizedKey(), ref);
+            }
+            keys.compute(document.normalizedKey(), (k, refs) -> {
+                Set<Ref> keyed = refs == null ? ConcurrentHashMap.newKeySet() : refs;
+                keyed.add(ref);
+                return keyed;
+            });
+            Set<String> current = Set.of(document.terms());
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    if (!current.contains(term)) {
+                        unpost(term, ref);
+                    }
+                }
+            }
+            Set<String> before = previous == null ? Set.of() : Set.of(previous.terms());
+            for (String term : document.terms()) {
+                if (!before.contains(term)) {
+                    post(term, ref);
+                }
+            }
+        }
+    }
+
+    /** Adds the document unless one with the same ref is already indexed. */
+    boolean putIfAbsent(SearchDocument document) {
+        synchronized (lockFor(document.ref())) {
+            if (documents.containsKey(document.ref())) {
+                return false;
+            }
+            put(document);
+            return true;
+        }
+    }
+
+    void remove(Ref ref) {
+        synchronized (lockFor(ref)) {
+            SearchDocument previous = documents.remove(ref);
+            if (previous != null) {
+                unkey(previous.normalizedKey(), ref);
+                for (String term : previous.terms()) {
+                    unpost(term, ref);
+                }
+            }
+        }
+    }
+
+    List<Ref> refs(SearchType type) {
+        List<Ref> refs = new ArrayList<>();
+        for (Ref ref : documents.keySet()) {
+            if (ref.type() == type) {
+                refs.add(ref);
+            }
+        }
+        return refs;
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Documents containing every query token, the last one as a prefix, best first.
+     * Score: exact key match, then key prefix, then whole-token over prefix-only matches.
+     * Documents whose key equals the query are always included; the rest are collected from
+     * whichever is smaller, the rarest whole token's postings or the prefix's expansion, within
+     * the {@link #MAX_CANDIDATES} and {@link #MAX_SCANNED} budgets.
+     */
+    List<Scored> search(String query, Set<SearchType> types, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String normalized = String.join(" ", tokens);
+        String prefix = tokens.get(tokens.size() - 1);
+        List<Set<Ref>> required = new ArrayList<>(tokens.size() - 1);
+        for (String token : tokens.subList(0, tokens.size() - 1)) {
+            Set<Ref> posting = postings.get(token);
+            if (posting == null) {
+                return List.of();
+            }
+            required.add(posting);
+        }
+        required.sort(Comparator.comparingInt(Set::size));
+
+        // Expand the prefix in sort order, so the exact term's postings come first
+        List<Set<Ref>> expansion = new ArrayList<>();
+        long expansionSize = 0;
+        for (String term : terms.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+            Set<Ref> posting = postings.get(term);
+            if (posting != null) {
+                expansion.add(posting);
+                expansionSize += posting.size();
+            }
+            if (expansion.size() >= MAX_PREFIX_TERMS) break;
+        }
+
+        Set<Ref> seen = new HashSet<>();
+        List<Scored> hits = new ArrayList<>();
+        for (Ref ref : keys.getOrDefault(normalized, Set.of())) {
+            collect(ref, types, required, 0, null, tokens, normalized, seen, hits);
+        }
+        int scanned = 0;
+        if (required.isEmpty() || expansionSize <= required.get(0).size()) {
+            for (Set<Ref> posting : expansion) {
+                for (Ref ref : posting) {
+                    if (hits.size() >= MAX_CANDIDATES || ++scanned > MAX_SCANNED) break;
+                    collect(ref, types, required, 0, null, tokens, normalized, seen, hits);
+                }
+                if (hits.size() >= MAX_CANDIDATES || scanned > MAX_SCANNED) break;
+            }
+        } else {
+            for (Ref ref : required.get(0)) {
+                if (hits.size() >= MAX_CANDIDATES || ++scanned > MAX_SCANNED) break;
+                collect(ref, types, required, 1, prefix, tokens, normalized, seen, hits);
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(scored -> scored.document().type())
+                .thenComparing(scored -> scored.document().key(), Comparator.nullsLast(Comparator.naturalOrder())));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /** Adds the document if it is of a wanted type, in {@code required[from..]} and, if given, has the prefix. */
+    private void collect(Ref ref, Set<SearchType> types, List<Set<Ref>> required, int from, String prefix,
+                         List<String> tokens, String normalized, Set<Ref> seen, List<Scored> hits) {
+        if (!types.contains(ref.type()) || seen.contains(ref)) {
+            return;
+        }
+        for (int i = from; i < required.size(); i++) {
+            if (!required.get(i).contains(ref)) {
+                return;
+            }
+        }
+        SearchDocument document = documents.get(ref);
+        if (document != null && (prefix == null || hasPrefix(document, prefix)) && seen.add(ref)) {
+            hits.add(new Scored(document, score(document, tokens, normalized)));
+        }
+    }
+
+    private static boolean hasPrefix(SearchDocument document, String prefix) {
+        for (String term : document.terms()) {
+            if (term.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double score(SearchDocument document, List<String> tokens, String normalized) {
+        double score = 0;
+        String key = document.normalizedKey();
+        if (key.equals(normalized)) {
+            score += 100;
+        } else if (key.startsWith(normalized)) {
+            score += 50;
+        }
+        List<String> documentTerms = Arrays.asList(document.terms());
+        for (String token : tokens) {
+            score += documentTerms.contains(token) ? 10 : 5;
+        }
+        // Shorter keys first among otherwise equal hits (CRF/26/1 before CRF/26/10)
+        return score - Math.min(key.length(), 99) / 100.0;
+    }
+
+    private void post(String term, Ref ref) {
+        postings.compute(term, (t, refs) -> {
+            if (refs == null) {
+                refs = ConcurrentHashMap.newKeySet();
+                terms.add(t);
+            }
+            refs.add(ref);
+            return refs;
+        });
+    }
+
+    private void unpost(String term, Ref ref) {
+        postings.computeIfPresent(term, (t, refs) -> {
+            refs.remove(ref);
+            if (refs.isEmpty()) {
+                terms.remove(t);
+                return null;
+            }
+            return refs;
+        });
+    }
+
+    private void unkey(String key, Ref ref) {
+        keys.computeIfPresent(key, (k, refs) -> {
+            refs.remove(ref);
+            return refs.isEmpty() ? null : refs;
+        });
+    }
+
+    private Object lockFor(Ref ref) {
+        return locks[Math.floorMod(ref.hashCode(), LOCK_STRIPES)];
+    }
+
+    record Scored(SearchDocument document, double score) {
+    }
+}
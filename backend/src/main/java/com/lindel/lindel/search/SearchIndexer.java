@@ -0,0 +1,362 @@
+package com.lindel.lindel.search;
+
+import com.lindel.lindel.dto.SearchHit;
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import com.lindel.lindel.search.SearchDocument.Ref;
+import com.lindel.lindel.service.TestParameterCatalog;
+import com.lindel.lindel.service.TestParameterCatalogReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the in-process {@link SearchIndex} over CRFs, samples, requests, quotations and test
+ * parameters, and answers {@code /api/search} typeahead queries from it.
+ * <p>
+ * The index is rebuilt on startup by one loader per entity type running in parallel, each
+ * streaming its table with one query. Writes are applied incrementally: services report the ids
+ * they changed through {@link #changed}, and after their transaction commits those rows are
+ * re-read with one query per type and replaced in the index (rows that are gone are removed).
+ * Test parameters follow the catalog's reload event. During a rebuild, incremental changes go to
+ * both the live and the new index, and the loaders never overwrite a document a change has
+ * already written, so the swapped-in index is not older than the live one.
+ */
+@Component
+@Slf4j
+public class SearchIndexer implements MetricsSource {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String CRF_SQL = "SELECT x.id, x.crf_id, x.customer, x.sample_type, "
+            + "(SELECT string_agg(p.parameter, ' ') FROM crf_test_parameters p WHERE p.crf_id = x.id) AS parameters "
+            + "FROM crfs x";
+    private static final String SAMPLE_SQL = "SELECT x.id, x.sample_id, x.description, x.notes, c.crf_id "
+            + "FROM samples x JOIN crfs c ON c.id = x.crf_id";
+    private static final String REQUEST_SQL = "SELECT x.id, x.request_id, x.customer, x.sample_type, x.notes, "
+            + "(SELECT string_agg(p.parameter, ' ') FROM request_parameters p WHERE p.request_id = x.id) AS parameters "
+            + "FROM requests x";
+    // quotations.notes is a large object column; it is left out of the index
+    private static final String QUOTATION_SQL = "SELECT x.id, x.quotation_id, x.customer, "
+            + "(SELECT string_agg(i.parameter, ' ') FROM quotation_items i WHERE i.quotation_id = x.id) AS parameters "
+            + "FROM quotations x";
+    private static final String BY_IDS = " WHERE x.id = ANY(?)";
+
+    private record Loader(String sql, RowMapper<SearchDocument> mapper) {
+    }
+
+    private static final Map<SearchType, Loader> LOADERS = new EnumMap<>(SearchType.class);
+
+    static {
+        LOADERS.put(SearchType.CRF, new Loader(CRF_SQL, (rs, n) -> SearchIndex.document(SearchType.CRF,
+                rs.getLong("id"), rs.getString("crf_id"), rs.getString("customer"), rs.getString("sample_type"),
+                rs.getString("customer"), rs.getString("sample_type"), rs.getString("parameters"))));
+        LOADERS.put(SearchType.SAMPLE, new Loader(SAMPLE_SQL, (rs, n) -> SearchIndex.document(SearchType.SAMPLE,
+                rs.getLong("id"), rs.getString("sample_id"), rs.getString("description"), rs.getString("crf_id"),
+                rs.getString("description"), rs.getString("notes"))));
+        LOADERS.put(SearchType.REQUEST, new Loader(REQUEST_SQL, (rs, n) -> SearchIndex.document(SearchType.REQUEST,
+                rs.getLong("id"), rs.getString("request_id"), rs.getString("customer"), rs.getString("sample_type"),
+                rs.getString("customer"), rs.getString("sample_type"), rs.getString("notes"), rs.getString("parameters"))));
+        LOADERS.put(SearchType.QUOTATION, new Loader(QUOTATION_SQL, (rs, n) -> SearchIndex.document(SearchType.QUOTATION,
+                rs.getLong("id"), rs.getString("quotation_id"), rs.getString("customer"), null,
+                rs.getString("customer"), rs.getString("parameters"))));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TestParameterCatalog testParameterCatalog;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    private volatile SearchIndex index = new SearchIndex();
+    private volatile SearchIndex building;
+    private final Set<Ref> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private final LatencyRecorder searchLatency = new LatencyRecorder();
+    private final LatencyRecorder refreshLatency = new LatencyRecorder();
+    private final LongAdder documentsRefreshed = new LongAdder();
+    private volatile long lastRebuildMs;
+    private volatile LocalDateTime lastRebuildAt;
+
+    public SearchIndexer(JdbcTemplate jdbcTemplate,
+                         DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         TestParameterCatalog testParameterCatalog,
+                         @Value("${search.index.enabled:true}") boolean enabled,
+                         @Value("${search.index.rebuild-threads:4}") int rebuildThreads,
+                         @Value("${search.index.default-limit:10}") int defaultLimit,
+                         @Value("${search.index.max-limit:50}") int maxLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        // REQUIRES_NEW: refreshes run in afterCommit callbacks of the writing transaction
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.testParameterCatalog = testParameterCatalog;
+        this.enabled = enabled;
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public List<SearchHit> search(String query, Collection<String> types, Integer limit) {
+        if (!enabled) {
+            throw new RuntimeException("Search index is disabled");
+        }
+        Set<SearchType> wanted = EnumSet.allOf(SearchType.class);
+        if (types != null && !types.isEmpty()) {
+            wanted = EnumSet.noneOf(SearchType.class);
+            for (String type : types) {
+                try {
+                    wanted.add(SearchType.valueOf(type.trim().toUpperCase().replace('-', '_')));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Unknown search type: " + type);
+                }
+            }
+        }
+        int rows = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+
+        long started = System.nanoTime();
+        List<SearchIndex.Scored> scored = index.search(query, wanted, rows);
+        searchLatency.record(System.nanoTime() - started);
+
+        List<SearchHit> hits = new ArrayList<>(scored.size());
+        for (SearchIndex.Scored hit : scored) {
+            SearchDocument document = hit.document();
+            hits.add(new SearchHit(document.type().name(), document.id(), document.key(),
+                    document.title(), document.subtitle(), hit.score()));
+        }
+        return hits;
+    }
+
+    public void changed(SearchType type, Long id) {
+        if (id != null) {
+            changed(type, List.of(id));
+        }
+    }
+
+    /**
+     * Re-indexes the given rows once the current transaction commits (immediately when there is
+     * none). Rows that no longer exist are removed, so deletions are reported the same way.
+     */
+    public void changed(SearchType type, Collection<Long> ids) {
+        if (!enabled || ids == null || ids.isEmpty() || !LOADERS.containsKey(type)) {
+            return;
+        }
+        List<Long> pending = List.copyOf(new HashSet<>(ids));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(type, pending);
+                }
+            });
+        } else {
+            refresh(type, pending);
+        }
+    }
+
+    /**
+     * Builds the initial index on a background thread so startup does not wait for the scan.
+     * Searches see the empty index until it is swapped in; a failure is logged, not fatal.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Initial search index build failed; retry with POST /api/search/rebuild", e);
+            }
+        }, "search-index-startup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Builds a new index with one parallel loader per entity type and swaps it in. On failure
+     * the current index stays in place.
+     */
+    public synchronized Map<String, Object> rebuild() {
+        if (!enabled) {
+            throw new RuntimeException("Search index is disabled");
+        }
+        long started = System.nanoTime();
+        SearchIndex fresh = new SearchIndex();
+        removedDuringBuild.clear();
+        building = fresh;
+
+        Map<SearchType, AtomicInteger> loaded = new EnumMap<>(SearchType.class);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(rebuildThreads, LOADERS.size()), runnable -> {
+            Thread thread = new Thread(runnable, "search-index-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            LOADERS.forEach((type, loader) -> {
+                AtomicInteger count = new AtomicInteger();
+                loaded.put(type, count);
+                tasks.add(() -> {
+                    readTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(loader.sql(), rs -> {
+                        SearchDocument document = loader.mapper().mapRow(rs, 0);
+                        if (!removedDuringBuild.contains(document.ref()) && fresh.putIfAbsent(document)) {
+                            count.incrementAndGet();
+                        }
+                    }));
+                    return null;
+                });
+            });
+            List<Future<Void>> results = executor.invokeAll(tasks);
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            TestParameterCatalog.Snapshot catalog = testParameterCatalog.snapshot();
+            indexParameters(fresh, catalog.parameters());
+            loaded.put(SearchType.TEST_PARAMETER, new AtomicInteger(catalog.parameters().size()));
+
+            index = fresh;
+            lastRebuildMs = (System.nanoTime() - started) / 1_000_000;
+            lastRebuildAt = LocalDateTime.now();
+            log.info("Search index rebuilt: {} documents, {} terms in {} ms", fresh.documentCount(), fresh.termCount(), lastRebuildMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Search index rebuild interrupted");
+        } catch (ExecutionException e) {
+            log.warn("Search index rebuild failed: {}", e.getCause().getMessage());
+            throw new RuntimeException("Search index rebuild failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+            building = null;
+            removedDuringBuild.clear();
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        loaded.forEach((type, count) -> summary.put(type.name(), count.get()));
+        summary.put("documents", index.documentCount());
+        summary.put("terms", index.termCount());
+        summary.put("durationMs", lastRebuildMs);
+        return summary;
+    }
+
+    @EventListener
+    public void onCatalogReloaded(TestParameterCatalogReloadedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<TestParameter> parameters = event.snapshot().parameters();
+        indexParameters(index, parameters);
+        SearchIndex next = building;
+        if (next != null) {
+            indexParameters(next, parameters);
+        }
+    }
+
+    private void refresh(SearchType type, List<Long> ids) {
+        long started = System.nanoTime();
+        try {
+            Loader loader = LOADERS.get(type);
+            List<SearchDocument> documents = readTransaction.execute(status ->
+                    jdbcTemplate.query(loader.sql() + BY_IDS, loader.mapper(), (Object) ids.toArray(Long[]::new)));
+            Set<Long> found = new HashSet<>();
+            SearchIndex next = building;
+            for (SearchDocument document : documents) {
+                found.add(document.id());
+                index.put(document);
+                if (next != null) {
+                    next.put(document);
+                }
+            }
+            for (Long id : ids) {
+                if (!found.contains(id)) {
+                    Ref ref = new Ref(type, id);
+                    if (next != null) {
+                        removedDuringBuild.add(ref);
+                        next.remove(ref);
+                    }
+                    index.remove(ref);
+                }
+            }
+            documentsRefreshed.add(ids.size());
+        } catch (RuntimeException e) {
+            // The write itself has committed; the next rebuild picks the rows up
+            log.warn("Could not refresh search index for {} {}: {}", ids.size(), type, e.getMessage());
+        } finally {
+            refreshLatency.record(System.nanoTime() - started);
+        }
+    }
+
+    private static void indexParameters(SearchIndex target, List<TestParameter> parameters) {
+        Set<Ref> current = new HashSet<>();
+        for (TestParameter parameter : parameters) {
+            SearchDocument document = SearchIndex.document(SearchType.TEST_PARAMETER, parameter.getId(),
+                    parameter.getName(), parameter.getName(), parameter.getCategory(),
+                    parameter.getCategory(), parameter.getMethod(), parameter.getDescription());
+            current.add(document.ref());
+            target.put(document);
+        }
+        for (Ref ref : target.refs(SearchType.TEST_PARAMETER)) {
+            if (!current.contains(ref)) {
+                target.remove(ref);
+            }
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "search-index";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("enabled", enabled);
+        values.put("documents", index.documentCount());
+        values.put("terms", index.termCount());
+        values.put("rebuilding", building != null);
+        values.put("lastRebuildMs", lastRebuildMs);
+        values.put("lastRebuildAt", lastRebuildAt == null ? null : lastRebuildAt.toString());
+        values.put("documentsRefreshed", documentsRefreshed.sum());
+        values.putAll(searchLatency.snapshot("search"));
+        values.putAll(refreshLatency.snapshot("refresh"));
+        return values;
+    }
+}
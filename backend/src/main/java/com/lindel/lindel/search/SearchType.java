@@ -0,0 +1,10 @@
+package com.lindel.lindel.search;
+
+/** Entity types held in the global search index, in the order equal-scoring hits are listed. */
+public enum SearchType {
+    CRF,
+    SAMPLE,
+    REQUEST,
+    QUOTATION,
+    TEST_PARAMETER
+}
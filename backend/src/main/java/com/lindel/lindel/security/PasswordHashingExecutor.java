@@ -0,0 +1,108 @@
+package com.lindel.lindel.security;
+
+import com.lindel.lindel.exception.TooManyRequestsException;
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt work (login verification, password encoding) on a small dedicated pool so a
+ * burst of logins can only occupy {@code security.password-hashing.parallelism} cores.
+ * Callers wait for their result; when the bounded queue is full the call fails immediately
+ * with TooManyRequestsException instead of piling up behind the burst.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements MetricsSource {
+
+    private final ThreadPoolExecutor executor;
+    private final LatencyRecorder hashLatency = new LatencyRecorder();
+    private final LatencyRecorder queueWait = new LatencyRecorder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${security.password-hashing.parallelism:0}") int parallelism,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing pool: {} threads, queue {}", threads, queueCapacity);
+    }
+
+    public <T> T execute(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted);
+                try {
+                    return task.call();
+                } finally {
+                    hashLatency.record(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in requests in progress, please retry shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "password-hashing";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("parallelism", executor.getMaximumPoolSize());
+        values.put("active", executor.getActiveCount());
+        values.put("queued", executor.getQueue().size());
+        values.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        values.put("rejected", rejected.sum());
+        values.putAll(hashLatency.snapshot("hash"));
+        values.putAll(queueWait.snapshot("queueWait"));
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,44 @@
+package com.lindel.lindel.security;
+
+import com.lindel.lindel.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a user's cached active/role state whenever the users row is written, so
+ * deactivation and role changes take effect on the next request. The entry is evicted
+ * again after commit, since a request running between the flush and the commit would
+ * otherwise re-cache the old row.
+ * <p>
+ * The cache is looked up lazily: it depends on {@code UserRepository}, which needs the
+ * entity manager factory that registers this listener.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<UserStateCache> userStateCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        UserStateCache cache = userStateCache.getObject();
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+}
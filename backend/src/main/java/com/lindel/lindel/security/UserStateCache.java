@@ -0,0 +1,54 @@
+package com.lindel.lindel.security;
+
+import com.lindel.lindel.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches whether a user is active and which role they hold, so authenticated requests
+ * don't need a users SELECT. Entries are evicted explicitly when a user row changes
+ * (see UserCacheInvalidationListener) and expire after {@code security.user-cache.ttl-seconds}
+ * so changes made through another node are picked up as well.
+ */
+@Component
+@Slf4j
+public class UserStateCache {
+
+    public record UserState(boolean active, String role) {
+    }
+
+    private static final UserState UNKNOWN = new UserState(false, null);
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, UserState> cache;
+    private final long ttlMillis;
+
+    public UserStateCache(UserRepository userRepository,
+                          @Value("${security.user-cache.max-size:10000}") int maxSize,
+                          @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public UserState get(String username) {
+        UserState state = cache.get(username);
+        if (state == null) {
+            state = userRepository.findByUsername(username)
+                    .map(user -> new UserState(Boolean.TRUE.equals(user.getActive()), user.getRole()))
+                    .orElse(UNKNOWN);
+            cache.put(username, state, System.currentTimeMillis() + ttlMillis);
+        }
+        return state;
+    }
+
+    public void invalidate(String username) {
+        cache.remove(username);
+        log.debug("Invalidated cached state for user {}", username);
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+}
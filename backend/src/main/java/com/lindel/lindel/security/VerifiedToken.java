@@ -0,0 +1,14 @@
+package com.lindel.lindel.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked. Immutable, so one
+ * instance can be shared between requests presenting the same token.
+ */
+public record VerifiedToken(String username, String role, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,46 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.dto.AuditLogFilter;
+import com.lindel.lindel.dto.CursorPage;
+import com.lindel.lindel.dto.KeysetCursor;
+import com.lindel.lindel.entity.AuditLog;
+import com.lindel.lindel.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * Keyset-paginated audit entries, newest first.
+     * Fetches one extra row to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> getAuditLogs(AuditLogFilter filter, String cursor, Integer limit) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new RuntimeException("Invalid time range: from must be before to");
+        }
+        int pageSize = limit == null || limit < 1 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+
+        List<AuditLog> rows = auditLogRepository.findPage(filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLog> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore, pageSize);
+    }
+}
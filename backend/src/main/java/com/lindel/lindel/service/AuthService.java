@@ -1,11 +1,13 @@
 package com.lindel.lindel.service;
 
+import com.lindel.lindel.audit.Audited;
 import com.lindel.lindel.dto.LoginRequest;
 import com.lindel.lindel.dto.LoginResponse;
 import com.lindel.lindel.dto.RegisterRequest;
 import com.lindel.lindel.entity.User;
 import com.lindel.lindel.repository.UserRepository;
 import com.lindel.lindel.security.JwtUtil;
+import com.lindel.lindel.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,11 +23,14 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
+    @Audited(module = "Auth", action = "LOGIN")
     public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
+        // BCrypt verification (and any rehash to the current cost) runs on the bounded hashing pool
+        Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        ));
 
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -41,6 +46,7 @@ public class AuthService {
                 .build();
     }
 
+    @Audited(module = "Auth", action = "REGISTER")
     public User register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -52,7 +58,7 @@ public class AuthService {
 
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.getPassword())));
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setRole(request.getRole());
@@ -0,0 +1,80 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.storage.BlobStore;
+import com.lindel.lindel.storage.StoredBlob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Converts inline base64 data URLs into blob store references of the form
+ * {@code /api/blobs/<sha256>}, served only to authenticated users. References in the old
+ * public form are rewritten to the new one; anything else is returned unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+public class BlobReferenceService {
+
+    public static final String REFERENCE_PREFIX = "/api/blobs/";
+    public static final String LEGACY_REFERENCE_PREFIX = "/api/public/blobs/";
+    public static final String FALLBACK_CONTENT_TYPE = "application/octet-stream";
+
+    // Blobs are served from the API origin, so only types browsers will not execute
+    private static final Set<String> IMAGE_CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/webp");
+
+    private final BlobStore blobStore;
+
+    public String internalize(String value) {
+        if (value != null && value.startsWith(LEGACY_REFERENCE_PREFIX)) {
+            return REFERENCE_PREFIX + value.substring(LEGACY_REFERENCE_PREFIX.length());
+        }
+        if (value == null || !value.startsWith("data:")) {
+            return value;
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0 || !value.substring(0, comma).endsWith(";base64")) {
+            throw new RuntimeException("Unsupported data URL; expected base64 encoding");
+        }
+        String contentType = value.substring("data:".length(), comma - ";base64".length());
+        byte[] bytes = Base64.getMimeDecoder().decode(value.substring(comma + 1));
+        try {
+            StoredBlob blob = blobStore.put(new ByteArrayInputStream(bytes), safeContentType(contentType));
+            return REFERENCE_PREFIX + blob.hash();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store blob", e);
+        }
+    }
+
+    public List<String> internalizeAll(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        return values.stream().map(this::internalize).collect(Collectors.toList());
+    }
+
+    /** The content type if it is an allowed image type, otherwise {@value #FALLBACK_CONTENT_TYPE}. */
+    public static String safeContentType(String contentType) {
+        return isAllowedImage(contentType) ? normalize(contentType) : FALLBACK_CONTENT_TYPE;
+    }
+
+    public static boolean isAllowedImage(String contentType) {
+        return contentType != null && IMAGE_CONTENT_TYPES.contains(normalize(contentType));
+    }
+
+    private static String normalize(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isReference(String value) {
+        return value != null && (value.startsWith(REFERENCE_PREFIX) || value.startsWith(LEGACY_REFERENCE_PREFIX));
+    }
+}
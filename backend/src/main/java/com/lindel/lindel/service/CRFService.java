@@ -1,28 +1,69 @@
 package com.lindel.lindel.service;
 
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.dto.CRFFilter;
+import com.lindel.lindel.dto.CRFSummary;
+import com.lindel.lindel.dto.CursorPage;
+import com.lindel.lindel.dto.KeysetCursor;
 import com.lindel.lindel.entity.CRF;
 import com.lindel.lindel.entity.Sample;
 import com.lindel.lindel.repository.CRFRepository;
 import com.lindel.lindel.repository.SampleRepository;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.search.SearchType;
+import com.lindel.lindel.service.DocumentNumberAllocator.DocumentType;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class CRFService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CRFRepository crfRepository;
     private final SampleRepository sampleRepository;
+    private final BlobReferenceService blobReferenceService;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final StatusHistogramService statusHistogramService;
+    private final TestParameterCatalog testParameterCatalog;
+    private final SearchIndexer searchIndexer;
 
     public List<CRF> getAllCRFs() {
         return crfRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated CRF list without signature, images or samples.
+     * Fetches one extra row to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CRFSummary> getCRFSummaries(CRFFilter filter, String cursor, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+
+        List<CRFSummary> rows = crfRepository.findSummaries(filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<CRFSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            CRFSummary last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore, pageSize);
+    }
+
     public CRF getCRFById(Long id) {
         return crfRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("CRF not found with id: " + id));
@@ -46,17 +87,13 @@ public class CRFService {
     }
 
     @Transactional
+    @Audited(module = "CRF", action = "CREATE")
     public CRF createCRF(CRF crf) {
         // Generate CRF ID if not provided (format: CRF/YY/sequence)
         if (crf.getCrfId() == null || crf.getCrfId().isEmpty()) {
             crf.setCrfId(generateCRFId());
         }
 
-        // Validate unique CRF ID
-        if (crfRepository.existsByCrfId(crf.getCrfId())) {
-            throw new RuntimeException("CRF ID already exists: " + crf.getCrfId());
-        }
-
         // Set default status if not provided
         if (crf.getStatus() == null) {
             crf.setStatus("draft");
@@ -67,7 +104,22 @@ public class CRFService {
             crf.setReceptionDate(LocalDateTime.now());
         }
 
-        CRF savedCRF = crfRepository.save(crf);
+        // Check requested tests against the in-memory catalog
+        crf.setTestParameters(testParameterCatalog.validate(crf.getSampleType(), crf.getTestParameters()));
+
+        // Move inline signature and images into the blob store, keep references only
+        crf.setSignature(blobReferenceService.internalize(crf.getSignature()));
+        crf.setSampleImages(blobReferenceService.internalizeAll(crf.getSampleImages()));
+
+        // Uniqueness of the CRF ID is enforced by the unique constraint
+        CRF savedCRF;
+        try {
+            savedCRF = crfRepository.save(crf);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Could not save CRF " + crf.getCrfId() + ": duplicate CRF ID or missing required field");
+        }
+        statusHistogramService.created(Counted.CRF, savedCRF.getStatus());
+        searchIndexer.changed(SearchType.CRF, savedCRF.getId());
 
         // Create samples for the CRF (format: CS/YY/sequence or LS/YY/sequence)
         if (crf.getNumberOfSamples() != null && crf.getNumberOfSamples() > 0) {
@@ -78,8 +130,10 @@ public class CRFService {
     }
 
     @Transactional
+    @Audited(module = "CRF", action = "UPDATE")
     public CRF updateCRF(Long id, CRF crfDetails) {
         CRF crf = getCRFById(id);
+        String previousStatus = crf.getStatus();
 
         // Update fields
         if (crfDetails.getCustomer() != null) crf.setCustomer(crfDetails.getCustomer());
@@ -91,24 +145,36 @@ public class CRFService {
         if (crfDetails.getNumberOfSamples() != null) crf.setNumberOfSamples(crfDetails.getNumberOfSamples());
         if (crfDetails.getSamplingType() != null) crf.setSamplingType(crfDetails.getSamplingType());
         if (crfDetails.getReceivedBy() != null) crf.setReceivedBy(crfDetails.getReceivedBy());
-        if (crfDetails.getSignature() != null) crf.setSignature(crfDetails.getSignature());
+        if (crfDetails.getSignature() != null) crf.setSignature(blobReferenceService.internalize(crfDetails.getSignature()));
         if (crfDetails.getPriority() != null) crf.setPriority(crfDetails.getPriority());
         if (crfDetails.getStatus() != null) crf.setStatus(crfDetails.getStatus());
-        if (crfDetails.getSampleImages() != null) crf.setSampleImages(crfDetails.getSampleImages());
+        if (crfDetails.getSampleImages() != null) crf.setSampleImages(blobReferenceService.internalizeAll(crfDetails.getSampleImages()));
 
+        statusHistogramService.statusChanged(Counted.CRF, previousStatus, crf.getStatus());
+        searchIndexer.changed(SearchType.CRF, id);
         return crfRepository.save(crf);
     }
 
     @Transactional
+    @Audited(module = "CRF", action = "UPDATE_STATUS")
     public CRF updateCRFStatus(Long id, String status) {
         CRF crf = getCRFById(id);
+        statusHistogramService.statusChanged(Counted.CRF, crf.getStatus(), status);
         crf.setStatus(status);
         return crfRepository.save(crf);
     }
 
     @Transactional
+    @Audited(module = "CRF", action = "DELETE")
     public void deleteCRF(Long id) {
         CRF crf = getCRFById(id);
+        // samples are removed with the CRF by cascade
+        statusHistogramService.deleted(Counted.CRF, crf.getStatus());
+        if (crf.getSamples() != null) {
+            crf.getSamples().forEach(sample -> statusHistogramService.deleted(Counted.SAMPLE, sample.getStatus()));
+            searchIndexer.changed(SearchType.SAMPLE, crf.getSamples().stream().map(Sample::getId).toList());
+        }
+        searchIndexer.changed(SearchType.CRF, id);
         crfRepository.delete(crf);
     }
 
@@ -122,9 +188,8 @@ public class CRFService {
      */
     private String generateCRFId() {
         int currentYear = Year.now().getValue() % 100; // Get last 2 digits of year
-        long countThisYear = crfRepository.countByYear(Year.now().getValue());
-        long sequence = countThisYear + 1;
-        return String.format("CRF/%02d/%d", currentYear, sequence);
+        String prefix = String.format("CRF/%02d/", currentYear);
+        return prefix + documentNumberAllocator.next(DocumentType.CRF, prefix);
     }
 
     /**
@@ -132,21 +197,64 @@ public class CRFService {
      * Example: CS/26/1, CS/26/2, LS/26/1, etc.
      */
     private void createSamplesForCRF(CRF crf) {
+        List<Sample> drafts = new ArrayList<>();
+        for (int i = 1; i <= crf.getNumberOfSamples(); i++) {
+            Sample sample = new Sample();
+            sample.setDescription("Sample " + i + " for " + crf.getCustomer());
+            drafts.add(sample);
+        }
+        insertSamples(crf, drafts);
+    }
+
+    /**
+     * Add samples to an existing CRF in one transaction. Samples get the next
+     * sample IDs for the CRF type and the CRF's sample count is increased to match.
+     */
+    @Transactional
+    @Audited(module = "CRF", action = "ADD_SAMPLES")
+    public List<Sample> addSamples(Long crfId, List<Sample> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            throw new RuntimeException("At least one sample is required");
+        }
+        CRF crf = getCRFById(crfId);
+        // createCRF allows a CRF without a sample count
+        int existing = Objects.requireNonNullElse(crf.getNumberOfSamples(), 0);
+        for (int i = 0; i < drafts.size(); i++) {
+            Sample draft = drafts.get(i);
+            if (draft.getDescription() == null || draft.getDescription().isEmpty()) {
+                draft.setDescription("Sample " + (existing + i + 1) + " for " + crf.getCustomer());
+            }
+        }
+        List<Sample> saved = insertSamples(crf, drafts);
+        crf.setNumberOfSamples(existing + drafts.size());
+        crfRepository.save(crf);
+        return saved;
+    }
+
+    /**
+     * Inserts samples through Hibernate JDBC batching: sample IDs come from a pooled
+     * sequence, so saveAll turns into batched INSERTs (rewritten into multi-row
+     * statements by the PostgreSQL driver) instead of one round trip per sample.
+     */
+    private List<Sample> insertSamples(CRF crf, List<Sample> drafts) {
         String samplePrefix = crf.getCrfType(); // CS or LS
         int currentYear = Year.now().getValue() % 100; // Get last 2 digits of year
         String yearPrefix = String.format("%s/%02d/", samplePrefix, currentYear);
-        
-        // Get count of existing samples with this prefix to continue sequence
-        long existingSamplesCount = sampleRepository.countBySampleIdPrefix(yearPrefix);
-        
-        for (int i = 1; i <= crf.getNumberOfSamples(); i++) {
-            long sequence = existingSamplesCount + i;
-            Sample sample = new Sample();
-            sample.setSampleId(String.format("%s/%02d/%d", samplePrefix, currentYear, sequence));
+
+        // Reserve a consecutive run of sample numbers for this CRF
+        long firstSequence = documentNumberAllocator.nextRange(DocumentType.SAMPLE, yearPrefix, drafts.size());
+
+        for (int i = 0; i < drafts.size(); i++) {
+            Sample sample = drafts.get(i);
+            sample.setId(null);
+            sample.setSampleId(yearPrefix + (firstSequence + i));
             sample.setCrf(crf);
-            sample.setDescription("Sample " + i + " for " + crf.getCustomer());
             sample.setStatus("pending");
-            sampleRepository.save(sample);
         }
+        List<Sample> saved = sampleRepository.saveAll(drafts);
+        sampleRepository.flush();
+        saved.forEach(sample -> statusHistogramService.created(Counted.SAMPLE, sample.getStatus()));
+        searchIndexer.changed(SearchType.SAMPLE, saved.stream().map(Sample::getId).toList());
+        return saved;
     }
 }
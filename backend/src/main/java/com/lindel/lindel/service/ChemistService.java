@@ -5,6 +5,7 @@ import com.lindel.lindel.exception.ResourceNotFoundException;
 import com.lindel.lindel.repository.ChemistRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -48,15 +49,6 @@ public class ChemistService {
         if (chemistDetails.getSpecialization() != null) {
             chemist.setSpecialization(chemistDetails.getSpecialization());
         }
-        if (chemistDetails.getActiveTasks() != null) {
-            chemist.setActiveTasks(chemistDetails.getActiveTasks());
-        }
-        if (chemistDetails.getCompletedThisWeek() != null) {
-            chemist.setCompletedThisWeek(chemistDetails.getCompletedThisWeek());
-        }
-        if (chemistDetails.getCompletedThisMonth() != null) {
-            chemist.setCompletedThisMonth(chemistDetails.getCompletedThisMonth());
-        }
         if (chemistDetails.getActive() != null) {
             chemist.setActive(chemistDetails.getActive());
         }
@@ -69,17 +61,26 @@ public class ChemistService {
         chemistRepository.delete(chemist);
     }
     
+    @Transactional
     public void incrementActiveTasks(Long id) {
-        Chemist chemist = getChemistById(id);
-        chemist.setActiveTasks(chemist.getActiveTasks() + 1);
-        chemistRepository.save(chemist);
+        if (chemistRepository.adjustActiveTasksById(id, 1) == 0) {
+            throw new ResourceNotFoundException("Chemist not found with id: " + id);
+        }
     }
     
+    @Transactional
     public void decrementActiveTasks(Long id) {
-        Chemist chemist = getChemistById(id);
-        if (chemist.getActiveTasks() > 0) {
-            chemist.setActiveTasks(chemist.getActiveTasks() - 1);
+        if (chemistRepository.adjustActiveTasksById(id, -1) == 0) {
+            throw new ResourceNotFoundException("Chemist not found with id: " + id);
+        }
+    }
+    
+    /** Overrides the active task count in one statement; the next reconciliation recomputes it from samples. */
+    @Transactional
+    public Chemist setActiveTasks(Long id, int activeTasks) {
+        if (chemistRepository.setActiveTasks(id, activeTasks) == 0) {
+            throw new ResourceNotFoundException("Chemist not found with id: " + id);
         }
-        chemistRepository.save(chemist);
+        return getChemistById(id);
     }
 }
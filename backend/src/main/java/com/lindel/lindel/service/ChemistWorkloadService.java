@@ -0,0 +1,109 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.repository.ChemistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps Chemist.activeTasks / completedThisWeek / completedThisMonth in step with sample
+ * assignment and completion. Every change is a single UPDATE statement, so concurrent
+ * assignments cannot lose updates, and a completion in a new week or month restarts
+ * that counter in the same statement. Scheduled jobs zero the counters of idle chemists
+ * when a period ends and recompute everything from samples with one GROUP BY.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChemistWorkloadService {
+
+    private static final String COMPLETED = "completed";
+
+    private final ChemistRepository chemistRepository;
+
+    /** One sample moving from one assignee/status to another. */
+    public record Transition(String previousAssignee, String previousStatus, String assignee, String status) {
+    }
+
+    /**
+     * Applies the workload effect of a sample moving from one assignee/status to another.
+     * Runs in the caller's transaction, so a rollback undoes the counter change too.
+     */
+    @Transactional
+    public void sampleChanged(String previousAssignee, String previousStatus, String assignee, String status) {
+        samplesChanged(List.of(new Transition(previousAssignee, previousStatus, assignee, status)));
+    }
+
+    /**
+     * Applies many transitions with at most one UPDATE per chemist involved. Chemists are
+     * updated in name order so concurrent bulk calls take row locks in the same order.
+     */
+    @Transactional
+    public void samplesChanged(Collection<Transition> transitions) {
+        // name -> {active task delta, completions}
+        Map<String, int[]> deltas = new TreeMap<>();
+        for (Transition t : transitions) {
+            if (t.previousAssignee() != null && isActive(t.previousStatus())) {
+                deltas.computeIfAbsent(t.previousAssignee(), name -> new int[2])[0]--;
+            }
+            if (t.assignee() != null && isActive(t.status())) {
+                deltas.computeIfAbsent(t.assignee(), name -> new int[2])[0]++;
+            }
+            if (t.assignee() != null && COMPLETED.equals(t.status()) && !COMPLETED.equals(t.previousStatus())) {
+                deltas.computeIfAbsent(t.assignee(), name -> new int[2])[1]++;
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        deltas.forEach((name, delta) -> {
+            if (delta[1] > 0) {
+                chemistRepository.recordCompletions(name, delta[1], -delta[0], weekStart(today), monthStart(today));
+            } else if (delta[0] != 0) {
+                chemistRepository.adjustActiveTasks(name, delta[0]);
+            }
+        });
+    }
+
+    @Transactional
+    @Scheduled(cron = "${chemists.workload.rollover-cron:5 0 0 * * *}")
+    public void rollOverPeriods() {
+        LocalDate today = LocalDate.now();
+        int rolled = chemistRepository.rollOverPeriods(weekStart(today), monthStart(today));
+        if (rolled > 0) {
+            log.info("Rolled over workload periods for {} chemists", rolled);
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${chemists.workload.reconcile-cron:0 30 2 * * *}")
+    public int reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate week = weekStart(today);
+        LocalDate month = monthStart(today);
+        int updated = chemistRepository.reconcileWorkload(week, month, week.atStartOfDay(), month.atStartOfDay());
+        log.info("Reconciled workload counters for {} chemists", updated);
+        return updated;
+    }
+
+    private static boolean isActive(String status) {
+        return "assigned".equals(status) || "testing".equals(status);
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate monthStart(LocalDate day) {
+        return day.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,197 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.dto.CustomerMatch;
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Customer search across CRFs, requests and quotations, ranked by similarity.
+ * <p>
+ * With pg_trgm installed, each table is matched on {@code lower(customer)} with the word
+ * similarity operator ({@code <%}, catches typos) or a substring {@code LIKE}; both are served by
+ * the GIN trigram indexes from database/add_customer_trigram_indexes.sql. Matches are grouped
+ * per customer and ranked by word similarity, then whole-name similarity. Without pg_trgm the
+ * search falls back to the substring {@code LIKE} alone, ranked by how much of the name matched.
+ */
+@Service
+@Slf4j
+public class CustomerSearchService implements MetricsSource {
+
+    private static final String[] TABLES = {"crfs", "requests", "quotations"};
+
+    private static final String TRIGRAM_MATCH = "? <% lower(customer) OR lower(customer) LIKE ?";
+    private static final String TRIGRAM_RANK = "SELECT min(name) AS name, "
+            + "word_similarity(?, key) AS word_score, similarity(?, key) AS name_score, "
+            + "sum(crfs) AS crfs, sum(requests) AS requests, sum(quotations) AS quotations "
+            + "FROM hits GROUP BY key ORDER BY word_score DESC, name_score DESC, key LIMIT ?";
+
+    private static final String LIKE_MATCH = "lower(customer) LIKE ?";
+    private static final String LIKE_RANK = "SELECT min(name) AS name, "
+            + "CASE WHEN key = ? THEN 1.0 ELSE length(?)::float8 / length(key) END AS word_score, "
+            + "sum(crfs) AS crfs, sum(requests) AS requests, sum(quotations) AS quotations "
+            + "FROM hits GROUP BY key ORDER BY word_score DESC, key LIMIT ?";
+
+    private static final RowMapper<CustomerMatch> MATCH_MAPPER = (rs, rowNum) -> new CustomerMatch(
+            rs.getString("name"),
+            Math.min(1.0, rs.getDouble("word_score")),
+            rs.getLong("crfs"),
+            rs.getLong("requests"),
+            rs.getLong("quotations"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean ensureIndexes;
+    private final int minLength;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final String trigramSql = hitsSql(TRIGRAM_MATCH) + TRIGRAM_RANK;
+    private final String likeSql = hitsSql(LIKE_MATCH) + LIKE_RANK;
+    private final LatencyRecorder searchLatency = new LatencyRecorder();
+
+    private volatile Boolean trigramAvailable;
+
+    public CustomerSearchService(JdbcTemplate jdbcTemplate,
+                                 @Value("${search.customers.ensure-indexes:true}") boolean ensureIndexes,
+                                 @Value("${search.customers.min-length:2}") int minLength,
+                                 @Value("${search.customers.default-limit:20}") int defaultLimit,
+                                 @Value("${search.customers.max-limit:100}") int maxLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ensureIndexes = ensureIndexes;
+        this.minLength = minLength;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public List<CustomerMatch> search(String query, Integer limit) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < minLength) {
+            throw new RuntimeException("Search term must be at least " + minLength + " characters");
+        }
+        int rows = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+        String contains = "%" + escapeLike(term) + "%";
+
+        long started = System.nanoTime();
+        try {
+            if (trigramAvailable()) {
+                return jdbcTemplate.query(trigramSql, MATCH_MAPPER,
+                        term, contains, term, contains, term, contains, term, term, rows);
+            }
+            return jdbcTemplate.query(likeSql, MATCH_MAPPER,
+                    contains, contains, contains, term, term, rows);
+        } finally {
+            searchLatency.record(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Installs pg_trgm and the trigram indexes if allowed, on a background thread so a long
+     * concurrent build does not hold up startup. Search uses LIKE until pg_trgm is present.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!ensureIndexes) {
+            logMode();
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            buildIndexes();
+            logMode();
+        }, "customer-search-indexes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void buildIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (RuntimeException e) {
+            log.warn("Could not install pg_trgm: {}", e.getMessage());
+            return;
+        }
+        for (String table : TABLES) {
+            String index = "idx_" + table + "_customer_trgm";
+            try {
+                // an interrupted CREATE INDEX CONCURRENTLY leaves an INVALID index that IF NOT EXISTS would keep
+                if (Boolean.FALSE.equals(indexValid(index))) {
+                    log.warn("Dropping invalid index {} to rebuild it", index);
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                }
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index
+                        + " ON " + table + " USING gin (lower(customer) gin_trgm_ops)");
+            } catch (RuntimeException e) {
+                log.warn("Could not create customer trigram index {}: {}", index, e.getMessage());
+            }
+        }
+    }
+
+    /** Whether the index is usable; null when it does not exist. */
+    private Boolean indexValid(String index) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, index);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    private void logMode() {
+        trigramAvailable = null;
+        log.info("Customer search uses {}", trigramAvailable() ? "pg_trgm" : "LIKE (pg_trgm not installed)");
+    }
+
+    private boolean trigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            try {
+                available = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+            } catch (RuntimeException e) {
+                available = false;
+            }
+            trigramAvailable = available;
+        }
+        return available;
+    }
+
+    @Override
+    public String metricsName() {
+        return "customer-search";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("mode", Boolean.TRUE.equals(trigramAvailable) ? "trigram" : "like");
+        values.putAll(searchLatency.snapshot("search"));
+        return values;
+    }
+
+    /** One grouped subquery per table, each matching on lower(customer) with the given predicate. */
+    private static String hitsSql(String match) {
+        StringBuilder sql = new StringBuilder("WITH hits AS (");
+        for (int i = 0; i < TABLES.length; i++) {
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT lower(customer) AS key, min(customer) AS name");
+            for (String column : TABLES) {
+                sql.append(", ").append(column.equals(TABLES[i]) ? "count(*)" : "0::bigint").append(" AS ").append(column);
+            }
+            sql.append(" FROM ").append(TABLES[i]).append(" WHERE ").append(match).append(" GROUP BY lower(customer)");
+        }
+        return sql.append(") ").toString();
+    }
+
+    /** Escapes LIKE wildcards with backslashes, PostgreSQL's default LIKE escape character. */
+    public static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
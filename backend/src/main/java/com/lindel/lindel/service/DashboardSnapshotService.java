@@ -0,0 +1,269 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.dto.ChemistLoad;
+import com.lindel.lindel.dto.DashboardSnapshot;
+import com.lindel.lindel.dto.DashboardTask;
+import com.lindel.lindel.entity.AuditLog;
+import com.lindel.lindel.metrics.LatencyRecorder;
+import com.lindel.lindel.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the whole dashboard (status counts, open work with due dates, chemist load, recent
+ * activity) in one pass and shares it between viewers.
+ * <p>
+ * Reads never wait on the database once a snapshot exists: an expired snapshot is still
+ * returned while a single background refresh replaces it (stale-while-revalidate). Committed
+ * status changes schedule an early refresh, debounced so a burst of writes costs one rebuild.
+ * A failed or slow refresh leaves the last good snapshot in place.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService implements MetricsSource {
+
+    private static final String OPEN_CRFS_SQL = """
+            SELECT c.id, c.crf_id, c.customer, c.sample_type, c.priority, c.status, c.reception_date,
+                   string_agg(DISTINCT s.assigned_to, ', ') AS assigned_to
+            FROM crfs c
+            LEFT JOIN samples s ON s.crf_id = c.id
+            WHERE c.status NOT IN ('completed', 'approved')
+            GROUP BY c.id""";
+
+    private static final String CHEMIST_LOAD_SQL = """
+            SELECT ch.id, ch.name,
+                   COUNT(s.id) FILTER (WHERE s.status IN ('assigned', 'testing')) AS active,
+                   COUNT(s.id) FILTER (WHERE s.status = 'assigned') AS pending,
+                   COUNT(s.id) FILTER (WHERE s.status = 'completed' AND s.completed_date >= ?) AS completed_week
+            FROM chemists ch
+            LEFT JOIN samples s ON s.assigned_to = ch.name
+            WHERE ch.active = true
+            GROUP BY ch.id, ch.name
+            ORDER BY active DESC, ch.name""";
+
+    private static final String RECENT_ACTIVITY_SQL = """
+            SELECT id, username, action, module, details, status, timestamp
+            FROM audit_logs
+            ORDER BY timestamp DESC, id DESC
+            LIMIT ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatusHistogramService statusHistogramService;
+    private final long ttlMs;
+    private final long minRefreshIntervalMs;
+    private final int taskLimit;
+    private final int recentActivityLimit;
+    private final Map<String, Integer> turnaroundDays;
+    private final int atRiskDays;
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final Object initialLoadLock = new Object();
+    private volatile DashboardSnapshot snapshot;
+    private volatile long snapshotNanos;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder servedStale = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private final LatencyRecorder buildLatency = new LatencyRecorder();
+
+    public DashboardSnapshotService(DataSource dataSource,
+                                    StatusHistogramService statusHistogramService,
+                                    @Value("${dashboard.snapshot.ttl-ms:15000}") long ttlMs,
+                                    @Value("${dashboard.snapshot.min-refresh-interval-ms:2000}") long minRefreshIntervalMs,
+                                    @Value("${dashboard.snapshot.query-timeout-seconds:10}") int queryTimeoutSeconds,
+                                    @Value("${dashboard.task-limit:20}") int taskLimit,
+                                    @Value("${dashboard.recent-activity-limit:10}") int recentActivityLimit,
+                                    @Value("${dashboard.turnaround-days.normal:10}") int normalDays,
+                                    @Value("${dashboard.turnaround-days.urgent:5}") int urgentDays,
+                                    @Value("${dashboard.turnaround-days.rush:2}") int rushDays,
+                                    @Value("${dashboard.at-risk-days:1}") int atRiskDays) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        this.statusHistogramService = statusHistogramService;
+        this.ttlMs = ttlMs;
+        this.minRefreshIntervalMs = minRefreshIntervalMs;
+        this.taskLimit = taskLimit;
+        this.recentActivityLimit = recentActivityLimit;
+        this.turnaroundDays = Map.of("normal", normalDays, "urgent", urgentDays, "rush", rushDays);
+        this.atRiskDays = atRiskDays;
+    }
+
+    /**
+     * The shared snapshot. Recent activity comes from the audit log, which only admins may read,
+     * so other viewers get a copy without it.
+     */
+    public DashboardSnapshot getSnapshot(boolean includeActivity) {
+        DashboardSnapshot shared = getSnapshot();
+        if (includeActivity) {
+            return shared;
+        }
+        return new DashboardSnapshot(shared.getGeneratedAt(), shared.getStatusCounts(), shared.getOpenCrfs(),
+                shared.getOverdueCount(), shared.getAtRiskCount(), shared.getPendingTasks(), shared.getChemistLoad(),
+                List.of());
+    }
+
+    private DashboardSnapshot getSnapshot() {
+        served.increment();
+        DashboardSnapshot current = snapshot;
+        if (current == null) {
+            // nothing to serve yet: the first caller builds it, concurrent callers wait for that build
+            synchronized (initialLoadLock) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                if (snapshot == null) {
+                    throw new RuntimeException("Dashboard is not available yet");
+                }
+                return snapshot;
+            }
+        }
+        if (System.nanoTime() - snapshotNanos > TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+            servedStale.increment();
+            scheduleRefresh(0);
+        }
+        return current;
+    }
+
+    @EventListener
+    public void onStatusCountsChanged(StatusCountsChangedEvent event) {
+        if (snapshot != null) {
+            long sinceLast = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - snapshotNanos);
+            scheduleRefresh(Math.max(0, minRefreshIntervalMs - sinceLast));
+        }
+    }
+
+    private void scheduleRefresh(long delayMs) {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.schedule(() -> {
+                refreshScheduled.set(false);
+                refresh();
+            }, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh() {
+        long started = System.nanoTime();
+        try {
+            DashboardSnapshot built = build();
+            snapshot = built;
+            snapshotNanos = System.nanoTime();
+            buildLatency.record(snapshotNanos - started);
+        } catch (RuntimeException e) {
+            failedRefreshes.increment();
+            log.warn("Dashboard snapshot refresh failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    private DashboardSnapshot build() {
+        LocalDate today = LocalDate.now();
+
+        List<DashboardTask> open = jdbcTemplate.query(OPEN_CRFS_SQL, (rs, rowNum) -> {
+            Timestamp received = rs.getTimestamp("reception_date");
+            String priority = rs.getString("priority");
+            LocalDate dueDate = received == null ? null : received.toLocalDateTime().toLocalDate()
+                    .plusDays(turnaroundDays.getOrDefault(priority == null ? "normal" : priority.toLowerCase(),
+                            turnaroundDays.get("normal")));
+            String status = rs.getString("status");
+            return new DashboardTask(rs.getLong("id"), rs.getString("crf_id"), rs.getString("customer"),
+                    rs.getString("sample_type"), taskType(status), rs.getString("assigned_to"),
+                    dueDate, priority, progress(dueDate, today));
+        });
+        open.sort(Comparator.comparing(DashboardTask::getDueDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        int overdue = (int) open.stream().filter(task -> "Overdue".equals(task.getStatus())).count();
+        int atRisk = (int) open.stream().filter(task -> "At Risk".equals(task.getStatus())).count();
+
+        LocalDateTime weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        List<ChemistLoad> chemistLoad = jdbcTemplate.query(CHEMIST_LOAD_SQL, (rs, rowNum) -> new ChemistLoad(
+                rs.getLong("id"), rs.getString("name"), rs.getLong("active"), rs.getLong("completed_week"),
+                rs.getLong("pending"), 0), Timestamp.valueOf(weekStart));
+        Map<String, Long> overdueByChemist = new HashMap<>();
+        for (DashboardTask task : open) {
+            if ("Overdue".equals(task.getStatus()) && task.getAssignedTo() != null) {
+                Arrays.stream(task.getAssignedTo().split(", "))
+                        .forEach(name -> overdueByChemist.merge(name, 1L, Long::sum));
+            }
+        }
+        chemistLoad.forEach(load -> load.setOverdueTests(overdueByChemist.getOrDefault(load.getChemistName(), 0L)));
+
+        List<AuditLog> recentActivity = jdbcTemplate.query(RECENT_ACTIVITY_SQL, (rs, rowNum) -> new AuditLog(
+                rs.getLong("id"), rs.getString("username"), rs.getString("action"), rs.getString("module"),
+                rs.getString("details"), null, rs.getString("status"),
+                rs.getTimestamp("timestamp").toLocalDateTime()), recentActivityLimit);
+
+        return new DashboardSnapshot(LocalDateTime.now(), statusHistogramService.getHistogram().getCounts(),
+                open.size(), overdue, atRisk, List.copyOf(open.subList(0, Math.min(taskLimit, open.size()))),
+                chemistLoad, recentActivity);
+    }
+
+    private static String taskType(String crfStatus) {
+        if (crfStatus == null) {
+            return "Registration";
+        }
+        return switch (crfStatus) {
+            case "assigned", "testing" -> "Testing";
+            case "review" -> "Review";
+            default -> "Registration";
+        };
+    }
+
+    private String progress(LocalDate dueDate, LocalDate today) {
+        if (dueDate == null) {
+            return "On Track";
+        }
+        long daysLeft = ChronoUnit.DAYS.between(today, dueDate);
+        if (daysLeft < 0) {
+            return "Overdue";
+        }
+        return daysLeft <= atRiskDays ? "At Risk" : "On Track";
+    }
+
+    @Override
+    public String metricsName() {
+        return "dashboard";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        DashboardSnapshot current = snapshot;
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("generatedAt", current == null ? null : current.getGeneratedAt());
+        values.put("served", served.sum());
+        values.put("servedStale", servedStale.sum());
+        values.put("failedRefreshes", failedRefreshes.sum());
+        values.putAll(buildLatency.snapshot("build"));
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
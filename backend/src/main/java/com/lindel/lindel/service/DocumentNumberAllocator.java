@@ -0,0 +1,173 @@
+package com.lindel.lindel.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out document numbers per prefix (CRF/26/, CS/26/, REQ-, ...) using hi/lo blocks.
+ * <p>
+ * Each node reserves {@code document-numbers.block-size} numbers at a time with a single
+ * {@code UPDATE ... RETURNING} on the prefix's row in {@code document_sequences}; the row lock
+ * makes reservations safe across nodes, and numbers within a block are served from memory.
+ * Reservations commit in their own transaction so a rolled-back business transaction never
+ * returns numbers to the pool. They run on a small dedicated connection pool
+ * ({@code document-numbers.pool-size}): callers reserve while already holding a connection
+ * from the main pool, so borrowing a second one there could exhaust it under a burst of
+ * writers and leave every request waiting on itself. Unused numbers are lost on restart, so sequences may have gaps
+ * and are only roughly ordered across nodes.
+ * <p>
+ * The first reservation for a prefix seeds the row from the highest number already stored,
+ * so existing documents keep their numbers.
+ */
+@Service
+@Slf4j
+public class DocumentNumberAllocator {
+
+    public enum DocumentType {
+        CRF("crfs", "crf_id"),
+        SAMPLE("samples", "sample_id"),
+        REQUEST("requests", "request_id"),
+        QUOTATION("quotations", "quotation_id");
+
+        private final String table;
+        private final String column;
+
+        DocumentType(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+
+    private static final Pattern REGEX_SPECIAL = Pattern.compile("[.\\\\+*?\\[\\](){}|^$]");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reservationTransaction;
+    private final int blockSize;
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DocumentNumberAllocator(DataSourceProperties dataSourceProperties,
+                                   @Value("${document-numbers.pool-size:2}") int poolSize,
+                                   @Value("${document-numbers.block-size:20}") int blockSize) {
+        this(reservationPool(dataSourceProperties, poolSize), blockSize);
+    }
+
+    private DocumentNumberAllocator(HikariDataSource pool, int blockSize) {
+        this(new JdbcTemplate(pool), new DataSourceTransactionManager(pool), blockSize);
+    }
+
+    DocumentNumberAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /** Returns the next number for {@code prefix}. */
+    public long next(DocumentType type, String prefix) {
+        return nextRange(type, prefix, 1);
+    }
+
+    /**
+     * Returns the first of {@code count} consecutive numbers for {@code prefix}.
+     * Large requests are reserved from the database in one round trip.
+     */
+    public long nextRange(DocumentType type, String prefix, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        Block block = blocks.computeIfAbsent(prefix, key -> new Block());
+        synchronized (block) {
+            if (block.remaining() < count) {
+                // Consecutive numbers are required, so discard the tail of the current block
+                long reserve = Math.max(blockSize, count);
+                long hi = reserve(type, prefix, reserve);
+                block.next = hi - reserve + 1;
+                block.end = hi;
+            }
+            long first = block.next;
+            block.next += count;
+            return first;
+        }
+    }
+
+    private long reserve(DocumentType type, String prefix, long amount) {
+        Long hi = reservationTransaction.execute(status -> {
+            Long value = increment(prefix, amount);
+            if (value == null) {
+                long seed = currentMaximum(type, prefix);
+                jdbcTemplate.update(
+                        "INSERT INTO document_sequences (sequence_key, last_value, updated_at) VALUES (?, ?, now()) "
+                                + "ON CONFLICT (sequence_key) DO NOTHING",
+                        prefix, seed);
+                log.info("Seeded document sequence {} at {}", prefix, seed);
+                value = increment(prefix, amount);
+            }
+            return value;
+        });
+        if (hi == null) {
+            throw new IllegalStateException("Could not reserve document numbers for " + prefix);
+        }
+        return hi;
+    }
+
+    private Long increment(String prefix, long amount) {
+        try {
+            return jdbcTemplate.queryForObject(
+                    "UPDATE document_sequences SET last_value = last_value + ?, updated_at = now() "
+                            + "WHERE sequence_key = ? RETURNING last_value",
+                    Long.class, amount, prefix);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    /** One-off scan used only when a prefix has no counter row yet. */
+    private long currentMaximum(DocumentType type, String prefix) {
+        String pattern = "^" + REGEX_SPECIAL.matcher(prefix).replaceAll("\\\\$0") + "([0-9]+)$";
+        Long max = jdbcTemplate.queryForObject(
+                "SELECT MAX(CAST(SUBSTRING(" + type.column + " FROM ?) AS BIGINT)) FROM " + type.table
+                        + " WHERE " + type.column + " ~ ?",
+                Long.class, pattern, pattern);
+        return max == null ? 0 : max;
+    }
+
+    private static HikariDataSource reservationPool(DataSourceProperties properties, int poolSize) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("document-numbers");
+        pool.setMaximumPoolSize(Math.max(1, poolSize));
+        pool.setMinimumIdle(0);
+        return pool;
+    }
+
+    @PreDestroy
+    void close() {
+        if (jdbcTemplate.getDataSource() instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long end = 0;
+
+        long remaining() {
+            return end - next + 1;
+        }
+    }
+}
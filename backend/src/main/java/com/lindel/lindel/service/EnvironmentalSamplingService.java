@@ -0,0 +1,52 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.entity.EnvironmentalSampling;
+import com.lindel.lindel.repository.CRFRepository;
+import com.lindel.lindel.repository.EnvironmentalSamplingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EnvironmentalSamplingService {
+
+    private final EnvironmentalSamplingRepository environmentalSamplingRepository;
+    private final CRFRepository crfRepository;
+    private final BlobReferenceService blobReferenceService;
+
+    public List<EnvironmentalSampling> getAllSamplings() {
+        return environmentalSamplingRepository.findAll();
+    }
+
+    public EnvironmentalSampling getSamplingById(Long id) {
+        return environmentalSamplingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Environmental sampling not found with id: " + id));
+    }
+
+    public EnvironmentalSampling getSamplingByCrfId(Long crfId) {
+        return environmentalSamplingRepository.findByCrfId(crfId)
+                .orElseThrow(() -> new RuntimeException("Environmental sampling not found for CRF: " + crfId));
+    }
+
+    /**
+     * Single-request create for small maps. Large maps should go through
+     * EnvironmentalUploadService so the image never travels inside a JSON body.
+     */
+    @Transactional
+    public EnvironmentalSampling createSampling(EnvironmentalSampling sampling) {
+        if (sampling.getCrfId() == null || !crfRepository.existsById(sampling.getCrfId())) {
+            throw new RuntimeException("CRF not found with id: " + sampling.getCrfId());
+        }
+        sampling.setMapImage(blobReferenceService.internalize(sampling.getMapImage()));
+        return environmentalSamplingRepository.save(sampling);
+    }
+
+    @Transactional
+    public void deleteSampling(Long id) {
+        EnvironmentalSampling sampling = getSamplingById(id);
+        environmentalSamplingRepository.delete(sampling);
+    }
+}
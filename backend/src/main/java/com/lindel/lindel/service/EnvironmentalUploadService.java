@@ -0,0 +1,362 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.dto.ChunkReceipt;
+import com.lindel.lindel.dto.CompleteUploadRequest;
+import com.lindel.lindel.dto.UploadSessionRequest;
+import com.lindel.lindel.dto.UploadSessionStatus;
+import com.lindel.lindel.entity.EnvironmentalSampling;
+import com.lindel.lindel.entity.UploadSession;
+import com.lindel.lindel.repository.CRFRepository;
+import com.lindel.lindel.repository.EnvironmentalSamplingRepository;
+import com.lindel.lindel.repository.UploadSessionRepository;
+import com.lindel.lindel.storage.BlobStore;
+import com.lindel.lindel.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Resumable, chunked upload of environmental map images. Chunks are streamed to
+ * {@code uploads.dir/<sessionId>/} and checksummed as they arrive; completing the
+ * session streams them in order into the blob store and creates the
+ * EnvironmentalSampling row in the same transaction that closes the session.
+ */
+@Service
+@Slf4j
+public class EnvironmentalUploadService {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final EnvironmentalSamplingRepository environmentalSamplingRepository;
+    private final CRFRepository crfRepository;
+    private final BlobStore blobStore;
+    private final Path uploadDir;
+    private final int maxChunkSize;
+    private final long maxTotalSize;
+    private final long sessionTtlHours;
+
+    public EnvironmentalUploadService(UploadSessionRepository uploadSessionRepository,
+                                      EnvironmentalSamplingRepository environmentalSamplingRepository,
+                                      CRFRepository crfRepository,
+                                      BlobStore blobStore,
+                                      @Value("${uploads.dir:./data/uploads}") String uploadDir,
+                                      @Value("${uploads.max-chunk-size:5242880}") int maxChunkSize,
+                                      @Value("${uploads.max-total-size:10485760}") long maxTotalSize,
+                                      @Value("${uploads.session-ttl-hours:48}") long sessionTtlHours) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.environmentalSamplingRepository = environmentalSamplingRepository;
+        this.crfRepository = crfRepository;
+        this.blobStore = blobStore;
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.maxChunkSize = maxChunkSize;
+        this.maxTotalSize = maxTotalSize;
+        this.sessionTtlHours = sessionTtlHours;
+    }
+
+    @Transactional
+    public UploadSessionStatus createSession(UploadSessionRequest request) {
+        if (!crfRepository.existsById(request.getCrfId())) {
+            throw new RuntimeException("CRF not found with id: " + request.getCrfId());
+        }
+        int chunkSize = request.getChunkSize() == null ? maxChunkSize : request.getChunkSize();
+        if (chunkSize < 1 || chunkSize > maxChunkSize) {
+            throw new RuntimeException("Chunk size must be between 1 and " + maxChunkSize + " bytes");
+        }
+        if (request.getTotalSize() > maxTotalSize) {
+            throw new RuntimeException("File size must not exceed " + maxTotalSize + " bytes");
+        }
+        int totalChunks = Math.toIntExact((request.getTotalSize() + chunkSize - 1) / chunkSize);
+
+        UploadSession session = new UploadSession();
+        session.setSessionId(UUID.randomUUID().toString());
+        session.setCrfId(request.getCrfId());
+        session.setMapType(request.getMapType());
+        session.setFileName(request.getFileName());
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setTotalChunks(totalChunks);
+        session.setStatus("open");
+        session.setExpiresAt(LocalDateTime.now().plusHours(sessionTtlHours));
+
+        try {
+            Files.createDirectories(sessionDir(session.getSessionId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create upload directory", e);
+        }
+        return toStatus(uploadSessionRepository.save(session));
+    }
+
+    public UploadSessionStatus getStatus(String sessionId) {
+        return toStatus(getSession(sessionId));
+    }
+
+    /**
+     * Streams one chunk to disk. Re-sending a chunk replaces it, so clients can
+     * retry any chunk without coordination. When {@code expectedSha256} is given
+     * the chunk is rejected unless its bytes match.
+     */
+    public ChunkReceipt writeChunk(String sessionId, int index, InputStream content, String expectedSha256) {
+        UploadSession session = getSession(sessionId);
+        if (!"open".equals(session.getStatus())) {
+            throw new RuntimeException("Upload session is " + session.getStatus());
+        }
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new RuntimeException("Chunk index out of range: " + index);
+        }
+        long expectedSize = expectedChunkSize(session, index);
+
+        Path dir = sessionDir(sessionId);
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(dir, "chunk-", ".part");
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                size = copyAtMost(content, out, expectedSize);
+            }
+            if (size != expectedSize) {
+                throw new RuntimeException("Chunk " + index + " must be " + expectedSize + " bytes, got " + size);
+            }
+            String sha = HexFormat.of().formatHex(digest.digest());
+            if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha)) {
+                throw new RuntimeException("Checksum mismatch for chunk " + index);
+            }
+            Files.move(tmp, chunkPath(sessionId, index),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new ChunkReceipt(index, size, sha);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store chunk " + index, e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    log.warn("Could not remove partial chunk {}", tmp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Assembles the chunks and creates the EnvironmentalSampling row. The session row is
+     * locked for the duration, so concurrent completes cannot create two rows, and a
+     * repeated complete returns the row created the first time.
+     */
+    @Transactional
+    public EnvironmentalSampling complete(String sessionId, CompleteUploadRequest request) {
+        UploadSession session = uploadSessionRepository.findBySessionIdForUpdate(sessionId)
+                .orElseThrow(() -> new RuntimeException("Upload session not found: " + sessionId));
+        if ("completed".equals(session.getStatus())) {
+            return environmentalSamplingRepository.findById(session.getEnvironmentalSamplingId())
+                    .orElseThrow(() -> new RuntimeException("Environmental sampling missing for session: " + sessionId));
+        }
+        if (!"open".equals(session.getStatus())) {
+            throw new RuntimeException("Upload session is " + session.getStatus());
+        }
+        List<Integer> missing = missingChunks(session);
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Upload incomplete, missing chunks: " + missing);
+        }
+
+        StoredBlob blob;
+        try (InputStream assembled = new SequenceInputStream(new ChunkEnumeration(session))) {
+            blob = blobStore.put(assembled, BlobReferenceService.safeContentType(session.getContentType()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to assemble upload " + sessionId, e);
+        }
+        if (blob.size() != session.getTotalSize()) {
+            throw new RuntimeException("Assembled size " + blob.size() + " does not match declared " + session.getTotalSize());
+        }
+        if (request.getSha256() != null && !request.getSha256().equalsIgnoreCase(blob.hash())) {
+            throw new RuntimeException("Checksum mismatch for assembled file");
+        }
+
+        EnvironmentalSampling sampling = new EnvironmentalSampling();
+        sampling.setCrfId(session.getCrfId());
+        sampling.setMapType(session.getMapType());
+        sampling.setSamplingPointsData(request.getSamplingPointsData());
+        sampling.setMapImage(BlobReferenceService.REFERENCE_PREFIX + blob.hash());
+        sampling.setSubmittedBy(request.getSubmittedBy());
+        EnvironmentalSampling saved = environmentalSamplingRepository.save(sampling);
+
+        session.setStatus("completed");
+        session.setSubmittedBy(request.getSubmittedBy());
+        session.setEnvironmentalSamplingId(saved.getId());
+        uploadSessionRepository.save(session);
+
+        // Keep the chunks until the commit succeeds, so a failed complete can be retried
+        deleteChunksAfterCommit(sessionId);
+        return saved;
+    }
+
+    @Transactional
+    public void abort(String sessionId) {
+        UploadSession session = getSession(sessionId);
+        if ("completed".equals(session.getStatus())) {
+            throw new RuntimeException("Upload session is already completed");
+        }
+        session.setStatus("aborted");
+        uploadSessionRepository.save(session);
+        deleteChunksAfterCommit(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void expireStaleSessions() {
+        List<UploadSession> stale = uploadSessionRepository.findByStatusAndExpiresAtBefore("open", LocalDateTime.now());
+        for (UploadSession session : stale) {
+            session.setStatus("aborted");
+            deleteChunksAfterCommit(session.getSessionId());
+        }
+        uploadSessionRepository.saveAll(stale);
+        if (!stale.isEmpty()) {
+            log.info("Expired {} stale upload sessions", stale.size());
+        }
+    }
+
+    private UploadSession getSession(String sessionId) {
+        return uploadSessionRepository.findBySessionId(sessionId)
+                .orElseThrow(() -> new RuntimeException("Upload session not found: " + sessionId));
+    }
+
+    private UploadSessionStatus toStatus(UploadSession session) {
+        List<Integer> received = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.getTotalChunks(); i++) {
+            (Files.exists(chunkPath(session.getSessionId(), i)) ? received : missing).add(i);
+        }
+        return new UploadSessionStatus(session.getSessionId(), session.getStatus(), session.getTotalSize(),
+                session.getChunkSize(), session.getTotalChunks(), received, missing,
+                session.getEnvironmentalSamplingId(), session.getExpiresAt());
+    }
+
+    private List<Integer> missingChunks(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.getTotalChunks(); i++) {
+            if (!Files.exists(chunkPath(session.getSessionId(), i))) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    private long expectedChunkSize(UploadSession session, int index) {
+        long offset = (long) index * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+    }
+
+    private Path sessionDir(String sessionId) {
+        // Session ids are server-generated UUIDs; reject anything else before touching the filesystem
+        UUID.fromString(sessionId);
+        return uploadDir.resolve(sessionId);
+    }
+
+    private Path chunkPath(String sessionId, int index) {
+        return sessionDir(sessionId).resolve(String.format("chunk-%06d", index));
+    }
+
+    private void deleteChunksAfterCommit(String sessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteChunks(sessionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteChunks(sessionId);
+            }
+        });
+    }
+
+    private void deleteChunks(String sessionId) {
+        Path dir = sessionDir(sessionId);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Could not delete upload file {}", path);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not clean up upload session {}", sessionId, e);
+        }
+    }
+
+    /** Copies up to {@code limit + 1} bytes so an oversized chunk is detected without reading it all. */
+    private static long copyAtMost(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        while (total <= limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit + 1 - total))) > 0) {
+            out.write(buffer, 0, n);
+            total += n;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Opens chunk files lazily, one at a time, in index order. */
+    private class ChunkEnumeration implements Enumeration<InputStream> {
+
+        private final UploadSession session;
+        private int next = 0;
+
+        ChunkEnumeration(UploadSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next < session.getTotalChunks();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return Files.newInputStream(chunkPath(session.getSessionId(), next++));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.entity.PriceList;
+import com.lindel.lindel.entity.TestParameter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable price lookup for (parameter, customer, date).
+ * <p>
+ * Every price point (a published price list entry, or a catalog default price effective since
+ * the beginning of time) goes into a timeline for its parameter and customer ("" for the
+ * standard lists). A timeline is two parallel arrays sorted by effective date, so the price in
+ * force on a date is a binary search: O(log n) in the number of versions. A customer's own
+ * timeline is consulted first and the standard timeline is the fallback. When two published
+ * lists start on the same day for the same parameter and customer, the later-published one wins.
+ */
+public final class PriceIndex {
+
+    static final PriceIndex EMPTY = new PriceIndex(0, 0, Map.of(), Map.of());
+
+    private static final String STANDARD = "";
+
+    private final long catalogVersion;
+    private final long generation;
+    private final Map<String, String> names;
+    private final Map<String, Map<String, Timeline>> timelines;
+
+    private PriceIndex(long catalogVersion, long generation, Map<String, String> names,
+                       Map<String, Map<String, Timeline>> timelines) {
+        this.catalogVersion = catalogVersion;
+        this.generation = generation;
+        this.names = names;
+        this.timelines = timelines;
+    }
+
+    /** Prices of one parameter for one customer, ordered by effective date. */
+    private record Timeline(long[] effectiveDays, BigDecimal[] prices) {
+
+        BigDecimal at(long day) {
+            int index = Arrays.binarySearch(effectiveDays, day);
+            if (index < 0) {
+                index = -index - 2; // last entry effective before the day
+            }
+            return index < 0 ? null : prices[index];
+        }
+    }
+
+    private record PricePoint(String parameter, String customer, long effectiveDay, long order, BigDecimal price) {
+    }
+
+    static PriceIndex build(TestParameterCatalog.Snapshot catalog, List<PriceList> published, long generation) {
+        Map<String, String> names = new HashMap<>();
+        List<PricePoint> points = new ArrayList<>();
+        for (TestParameter parameter : catalog.parameters()) {
+            names.put(key(parameter.getName()), parameter.getName());
+            if (parameter.getDefaultPrice() != null) {
+                points.add(new PricePoint(key(parameter.getName()), STANDARD, Long.MIN_VALUE, Long.MIN_VALUE,
+                        scaled(parameter.getDefaultPrice())));
+            }
+        }
+        for (PriceList list : published) {
+            String customer = list.getCustomer() == null || list.getCustomer().isBlank() ? STANDARD : key(list.getCustomer());
+            long day = list.getEffectiveFrom().toEpochDay();
+            long order = list.getPublishedAt() == null ? list.getId()
+                    : list.getPublishedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            list.getPrices().forEach((parameter, price) -> {
+                names.putIfAbsent(key(parameter), parameter.trim());
+                points.add(new PricePoint(key(parameter), customer, day, order, scaled(price)));
+            });
+        }
+
+        points.sort(Comparator.comparing(PricePoint::parameter)
+                .thenComparing(PricePoint::customer)
+                .thenComparingLong(PricePoint::effectiveDay)
+                .thenComparingLong(PricePoint::order));
+        Map<String, Map<String, Timeline>> timelines = new HashMap<>();
+        int start = 0;
+        while (start < points.size()) {
+            PricePoint first = points.get(start);
+            int end = start;
+            while (end < points.size() && points.get(end).parameter().equals(first.parameter())
+                    && points.get(end).customer().equals(first.customer())) {
+                end++;
+            }
+            // Collapse same-day points, keeping the last published
+            long[] days = new long[end - start];
+            BigDecimal[] prices = new BigDecimal[end - start];
+            int size = 0;
+            for (int i = start; i < end; i++) {
+                PricePoint point = points.get(i);
+                if (size > 0 && days[size - 1] == point.effectiveDay()) {
+                    prices[size - 1] = point.price();
+                } else {
+                    days[size] = point.effectiveDay();
+                    prices[size] = point.price();
+                    size++;
+                }
+            }
+            timelines.computeIfAbsent(first.parameter(), parameter -> new HashMap<>())
+                    .put(first.customer(), new Timeline(Arrays.copyOf(days, size), Arrays.copyOf(prices, size)));
+            start = end;
+        }
+        timelines.replaceAll((parameter, byCustomer) -> Map.copyOf(byCustomer));
+        return new PriceIndex(catalog.version(), generation, Map.copyOf(names), Map.copyOf(timelines));
+    }
+
+    /** The unit price of {@code parameter} for {@code customer} on {@code date}, or null if it has none. */
+    public BigDecimal resolve(String parameter, String customer, LocalDate date) {
+        if (parameter == null) {
+            return null;
+        }
+        Map<String, Timeline> byCustomer = timelines.get(key(parameter));
+        if (byCustomer == null) {
+            return null;
+        }
+        long day = date.toEpochDay();
+        if (customer != null && !customer.isBlank()) {
+            Timeline own = byCustomer.get(key(customer));
+            BigDecimal price = own == null ? null : own.at(day);
+            if (price != null) {
+                return price;
+            }
+        }
+        Timeline standard = byCustomer.get(STANDARD);
+        return standard == null ? null : standard.at(day);
+    }
+
+    /** The catalog (or first price list) spelling of a parameter name. */
+    public String name(String parameter) {
+        return parameter == null ? null : names.getOrDefault(key(parameter), parameter);
+    }
+
+    /** Lower-case names of every parameter with at least one price. */
+    public Set<String> parameterKeys() {
+        return timelines.keySet();
+    }
+
+    public long catalogVersion() {
+        return catalogVersion;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int timelineCount() {
+        return timelines.values().stream().mapToInt(Map::size).sum();
+    }
+
+    static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BigDecimal scaled(BigDecimal price) {
+        return price.setScale(QuotationPricingEngine.SCALE, QuotationPricingEngine.ROUNDING);
+    }
+}
@@ -0,0 +1,165 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.entity.PriceList;
+import com.lindel.lindel.repository.PriceListRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versioned price lists. A list is edited as a draft and becomes read-only once published;
+ * publishing or withdrawing one rebuilds the pricing engine's {@link PriceIndex} after commit.
+ * To change prices, publish a new list with a later effective date instead of editing the old
+ * one, so quotations priced earlier keep their meaning.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceListService {
+
+    private final PriceListRepository priceListRepository;
+    private final QuotationPricingEngine pricingEngine;
+
+    public List<PriceList> getAllPriceLists() {
+        return priceListRepository.findAll();
+    }
+
+    public PriceList getPriceListById(Long id) {
+        return priceListRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Price list not found with id: " + id));
+    }
+
+    public List<PriceList> getPriceListsByStatus(String status) {
+        return priceListRepository.findByStatusOrderByEffectiveFromDesc(status);
+    }
+
+    public List<PriceList> getPriceListsByCustomer(String customer) {
+        return priceListRepository.findByCustomerIgnoreCaseOrderByEffectiveFromDesc(customer);
+    }
+
+    /** The unit price in force for a parameter, customer and date, read from the in-memory index. */
+    public BigDecimal resolvePrice(String parameter, String customer, LocalDate date) {
+        BigDecimal price = pricingEngine.prices().resolve(parameter, customer, date == null ? LocalDate.now() : date);
+        if (price == null) {
+            throw new RuntimeException("No price for test parameter: " + parameter);
+        }
+        return price;
+    }
+
+    @Transactional
+    @Audited(module = "PriceList", action = "CREATE")
+    public PriceList createPriceList(PriceList priceList) {
+        if (priceList.getEffectiveFrom() == null) {
+            throw new RuntimeException("Effective-from date is required");
+        }
+        priceList.setPrices(checkedPrices(priceList.getPrices()));
+        priceList.setStatus("draft");
+        priceList.setPublishedAt(null);
+        priceList.setPublishedBy(null);
+        return priceListRepository.save(priceList);
+    }
+
+    @Transactional
+    @Audited(module = "PriceList", action = "UPDATE")
+    public PriceList updatePriceList(Long id, PriceList details) {
+        PriceList priceList = getPriceListById(id);
+        if (!"draft".equals(priceList.getStatus())) {
+            throw new RuntimeException("Price list " + id + " is " + priceList.getStatus() + " and can no longer be edited");
+        }
+        if (details.getName() != null) priceList.setName(details.getName());
+        if (details.getCustomer() != null) priceList.setCustomer(details.getCustomer().isBlank() ? null : details.getCustomer());
+        if (details.getEffectiveFrom() != null) priceList.setEffectiveFrom(details.getEffectiveFrom());
+        if (details.getPrices() != null) priceList.setPrices(checkedPrices(details.getPrices()));
+        if (details.getNotes() != null) priceList.setNotes(details.getNotes());
+        return priceListRepository.save(priceList);
+    }
+
+    @Transactional
+    @Audited(module = "PriceList", action = "PUBLISH")
+    public PriceList publishPriceList(Long id) {
+        PriceList priceList = getPriceListById(id);
+        if (!"draft".equals(priceList.getStatus())) {
+            throw new RuntimeException("Only draft price lists can be published");
+        }
+        if (priceList.getPrices().isEmpty()) {
+            throw new RuntimeException("Price list " + id + " has no prices");
+        }
+        priceList.setStatus("published");
+        priceList.setPublishedAt(LocalDateTime.now());
+        priceList.setPublishedBy(currentUser());
+        PriceList saved = priceListRepository.save(priceList);
+        rebuildAfterCommit(saved.getPrices().keySet());
+        return saved;
+    }
+
+    @Transactional
+    @Audited(module = "PriceList", action = "WITHDRAW")
+    public PriceList withdrawPriceList(Long id) {
+        PriceList priceList = getPriceListById(id);
+        if (!"published".equals(priceList.getStatus())) {
+            throw new RuntimeException("Only published price lists can be withdrawn");
+        }
+        priceList.setStatus("withdrawn");
+        PriceList saved = priceListRepository.save(priceList);
+        rebuildAfterCommit(saved.getPrices().keySet());
+        return saved;
+    }
+
+    @Transactional
+    @Audited(module = "PriceList", action = "DELETE")
+    public void deletePriceList(Long id) {
+        PriceList priceList = getPriceListById(id);
+        if (!"draft".equals(priceList.getStatus())) {
+            throw new RuntimeException("Only draft price lists can be deleted; withdraw published ones");
+        }
+        priceListRepository.delete(priceList);
+    }
+
+    private static Map<String, BigDecimal> checkedPrices(Map<String, BigDecimal> prices) {
+        Map<String, BigDecimal> checked = new HashMap<>();
+        if (prices == null) {
+            return checked;
+        }
+        prices.forEach((parameter, price) -> {
+            if (parameter == null || parameter.isBlank()) {
+                throw new RuntimeException("Price list entries need a test parameter name");
+            }
+            if (price == null || price.signum() < 0) {
+                throw new RuntimeException("Invalid price for " + parameter + ": " + price);
+            }
+            checked.put(parameter.trim(), price.setScale(QuotationPricingEngine.SCALE, QuotationPricingEngine.ROUNDING));
+        });
+        return checked;
+    }
+
+    private void rebuildAfterCommit(Set<String> parameters) {
+        Set<String> touched = Set.copyOf(parameters);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pricingEngine.onPriceListsChanged(touched);
+                }
+            });
+        } else {
+            pricingEngine.onPriceListsChanged(touched);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "system";
+    }
+}
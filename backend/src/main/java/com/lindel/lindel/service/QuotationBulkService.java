@@ -0,0 +1,256 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.dto.QuotationGenerationItem;
+import com.lindel.lindel.dto.QuotationGenerationResult;
+import com.lindel.lindel.dto.RepriceResult;
+import com.lindel.lindel.entity.QuotationItem;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.search.SearchType;
+import com.lindel.lindel.service.DocumentNumberAllocator.DocumentType;
+import com.lindel.lindel.service.QuotationPricingEngine.Pricing;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Quotes many pending requests in one pass and re-prices open quotations when unit prices change.
+ * <p>
+ * Generation reads the requests and their parameters with two queries, prices them in memory
+ * through the {@link QuotationPricingEngine}, reserves all quotation numbers in one round trip
+ * and writes quotations, items and request links as JDBC batches in a single transaction.
+ * Re-pricing reads the lines of every draft quotation (sent ones only on explicit request) in one
+ * query, resolves each against the {@link PriceIndex} in memory, writes the changed lines as one
+ * batch and recomputes the affected quotations' subtotal, tax and total with one aggregate UPDATE.
+ */
+@Service
+@Slf4j
+public class QuotationBulkService {
+
+    private static final String PENDING_REQUESTS_SQL = "SELECT id, request_id, customer, number_of_samples FROM requests "
+            + "WHERE status = 'pending' AND quotation_id IS NULL ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String REQUEST_PARAMETERS_SQL = "SELECT request_id, parameter FROM request_parameters "
+            + "WHERE request_id = ANY(?)";
+    private static final String INSERT_QUOTATION_SQL = "INSERT INTO quotations "
+            + "(quotation_id, request_id, customer, subtotal, tax, total, status, prepared_by, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'draft', ?, ?, ?)";
+    private static final String QUOTATION_IDS_SQL = "SELECT quotation_id, id FROM quotations WHERE quotation_id = ANY(?)";
+    private static final String INSERT_ITEM_SQL = "INSERT INTO quotation_items "
+            + "(quotation_id, parameter, quantity, unit_price, total_price) VALUES (?, ?, ?, ?, ?)";
+    private static final String LINK_REQUEST_SQL = "UPDATE requests SET status = 'quoted', quotation_id = ?, updated_at = ? "
+            + "WHERE id = ?";
+
+    private static final String OPEN_LINES_SQL = "SELECT i.quotation_id, q.customer, i.parameter, i.quantity, i.unit_price, "
+            + "q.status, q.created_at "
+            + "FROM quotation_items i JOIN quotations q ON q.id = i.quotation_id "
+            + "WHERE q.status = ANY(?)";
+    private static final String REPRICE_LINE_SQL = "UPDATE quotation_items SET unit_price = ?, total_price = ? "
+            + "WHERE quotation_id = ? AND parameter = ?";
+    private static final String REPRICE_TOTALS_SQL = "UPDATE quotations q SET subtotal = s.subtotal, "
+            + "tax = ROUND(s.subtotal * ?, 2), total = s.subtotal + ROUND(s.subtotal * ?, 2), updated_at = ? "
+            + "FROM (SELECT quotation_id, COALESCE(SUM(total_price), 0) AS subtotal FROM quotation_items "
+            + "      WHERE quotation_id = ANY(?) GROUP BY quotation_id) s "
+            + "WHERE q.id = s.quotation_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuotationPricingEngine pricingEngine;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final StatusHistogramService statusHistogramService;
+    private final SearchIndexer searchIndexer;
+    private final TransactionTemplate repriceTransaction;
+    private final boolean repriceOnPriceChange;
+    private final int maxBatch;
+
+    public QuotationBulkService(JdbcTemplate jdbcTemplate,
+                                QuotationPricingEngine pricingEngine,
+                                DocumentNumberAllocator documentNumberAllocator,
+                                StatusHistogramService statusHistogramService,
+                                SearchIndexer searchIndexer,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${quotations.reprice-on-price-change:true}") boolean repriceOnPriceChange,
+                                @Value("${quotations.bulk.max-batch:1000}") int maxBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pricingEngine = pricingEngine;
+        this.documentNumberAllocator = documentNumberAllocator;
+        this.statusHistogramService = statusHistogramService;
+        this.searchIndexer = searchIndexer;
+        this.repriceTransaction = new TransactionTemplate(transactionManager);
+        // Price change events arrive from catalog reloads, which may run in afterCommit callbacks
+        this.repriceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.repriceOnPriceChange = repriceOnPriceChange;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /** Generates draft quotations for up to {@code limit} pending requests that have none yet. */
+    @Transactional
+    @Audited(module = "Quotation", action = "BULK_GENERATE")
+    public QuotationGenerationResult generateForPendingRequests(Integer limit) {
+        int batch = limit == null || limit < 1 ? maxBatch : Math.min(limit, maxBatch);
+        List<Object[]> requests = jdbcTemplate.query(PENDING_REQUESTS_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Integer.class)},
+                batch);
+        if (requests.isEmpty()) {
+            return new QuotationGenerationResult(0, 0, 0, List.of());
+        }
+
+        Map<Long, List<String>> parameters = new HashMap<>();
+        jdbcTemplate.query(REQUEST_PARAMETERS_SQL, rs -> {
+            parameters.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+        }, (Object) requests.stream().map(row -> (Long) row[0]).toArray(Long[]::new));
+
+        LocalDate today = LocalDate.now();
+        List<QuotationGenerationItem> items = new ArrayList<>(requests.size());
+        List<Pricing> priced = new ArrayList<>();
+        List<Object[]> quotedRequests = new ArrayList<>();
+        for (Object[] request : requests) {
+            Long id = (Long) request[0];
+            try {
+                Pricing pricing = pricingEngine.price(parameters.get(id), (Integer) request[3], (String) request[2], today);
+                priced.add(pricing);
+                quotedRequests.add(request);
+                items.add(new QuotationGenerationItem(id, (String) request[1], true, null, null, pricing.total(), null));
+            } catch (RuntimeException e) {
+                items.add(new QuotationGenerationItem(id, (String) request[1], false, null, null, null, e.getMessage()));
+            }
+        }
+        if (priced.isEmpty()) {
+            return new QuotationGenerationResult(requests.size(), 0, items.size(), items);
+        }
+
+        long first = documentNumberAllocator.nextRange(DocumentType.QUOTATION, "QTN-", priced.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String preparedBy = currentUser();
+        List<Object[]> quotationRows = new ArrayList<>(priced.size());
+        String[] numbers = new String[priced.size()];
+        for (int i = 0; i < priced.size(); i++) {
+            Object[] request = quotedRequests.get(i);
+            Pricing pricing = priced.get(i);
+            numbers[i] = String.format("QTN-%04d", first + i);
+            quotationRows.add(new Object[]{numbers[i], request[0], request[2], pricing.subtotal(), pricing.tax(),
+                    pricing.total(), preparedBy, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_QUOTATION_SQL, quotationRows);
+
+        Map<String, Long> quotationIds = new HashMap<>();
+        jdbcTemplate.query(QUOTATION_IDS_SQL, rs -> {
+            quotationIds.put(rs.getString(1), rs.getLong(2));
+        }, (Object) numbers);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> linkRows = new ArrayList<>(priced.size());
+        Map<Long, QuotationGenerationItem> byRequest = new HashMap<>();
+        items.forEach(item -> byRequest.put(item.getRequestId(), item));
+        for (int i = 0; i < priced.size(); i++) {
+            Long quotationId = quotationIds.get(numbers[i]);
+            Long requestId = (Long) quotedRequests.get(i)[0];
+            for (QuotationItem line : priced.get(i).items()) {
+                itemRows.add(new Object[]{quotationId, line.getParameter(), line.getQuantity(), line.getUnitPrice(), line.getTotalPrice()});
+            }
+            linkRows.add(new Object[]{quotationId, now, requestId});
+            QuotationGenerationItem item = byRequest.get(requestId);
+            item.setQuotationId(quotationId);
+            item.setQuotationNumber(numbers[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, itemRows);
+        jdbcTemplate.batchUpdate(LINK_REQUEST_SQL, linkRows);
+
+        statusHistogramService.created(Counted.QUOTATION, "draft", priced.size());
+        statusHistogramService.statusChanged(Counted.REQUEST, "pending", "quoted", priced.size());
+        searchIndexer.changed(SearchType.QUOTATION, quotationIds.values());
+        return new QuotationGenerationResult(requests.size(), priced.size(), requests.size() - priced.size(), items);
+    }
+
+    /**
+     * Re-prices every draft quotation line at today's prices. With {@code includeSent}, sent
+     * quotations are re-priced too, but at the prices in force on the day they were created, so
+     * what the customer was quoted only changes if the price list for that day was corrected.
+     */
+    @Transactional
+    @Audited(module = "Quotation", action = "REPRICE")
+    public RepriceResult repriceOpenQuotations(boolean includeSent) {
+        return reprice(null, includeSent);
+    }
+
+    @EventListener
+    public void onPricesChanged(QuotationPricesChangedEvent event) {
+        if (!repriceOnPriceChange) {
+            return;
+        }
+        // Only drafts: quotations already sent to customers are never changed automatically
+        RepriceResult result = repriceTransaction.execute(status -> reprice(event.parameters(), false));
+        log.info("Re-priced {} draft quotations ({} lines) after price changes to {} parameters in {} ms",
+                result.getQuotationsUpdated(), result.getItemsUpdated(), result.getParameters(), result.getDurationMs());
+    }
+
+    /**
+     * Re-prices draft (and, if asked, sent) quotation lines for the given (lower-case) parameters,
+     * or all lines if null, for each quotation's customer: drafts at today's prices, sent
+     * quotations at the prices in force on their creation date. Lines are read in one query and
+     * resolved against the price index in memory; only lines whose price changed are written.
+     */
+    private RepriceResult reprice(Collection<String> parameters, boolean includeSent) {
+        long started = System.nanoTime();
+        PriceIndex prices = pricingEngine.prices();
+        LocalDate today = LocalDate.now();
+        String[] statuses = includeSent ? new String[]{"draft", "sent"} : new String[]{"draft"};
+        List<Object[]> lineRows = new ArrayList<>();
+        Set<Long> quotations = new HashSet<>();
+        RowCallbackHandler handler = rs -> {
+            String parameter = rs.getString(3);
+            LocalDate priceDate = "draft".equals(rs.getString(6)) ? today : rs.getTimestamp(7).toLocalDateTime().toLocalDate();
+            BigDecimal unitPrice = prices.resolve(parameter, rs.getString(2), priceDate);
+            BigDecimal current = rs.getBigDecimal(5);
+            if (unitPrice == null || (current != null && current.compareTo(unitPrice) == 0)) {
+                return;
+            }
+            long quotationId = rs.getLong(1);
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(rs.getInt(4)))
+                    .setScale(QuotationPricingEngine.SCALE, QuotationPricingEngine.ROUNDING);
+            lineRows.add(new Object[]{unitPrice, totalPrice, quotationId, parameter});
+            quotations.add(quotationId);
+        };
+        if (parameters == null) {
+            jdbcTemplate.query(OPEN_LINES_SQL, handler, (Object) statuses);
+        } else {
+            jdbcTemplate.query(OPEN_LINES_SQL + " AND LOWER(TRIM(i.parameter)) = ANY(?)", handler,
+                    statuses, parameters.toArray(String[]::new));
+        }
+
+        int quotationsUpdated = 0;
+        if (!lineRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(REPRICE_LINE_SQL, lineRows);
+            BigDecimal taxRate = pricingEngine.taxRate();
+            quotationsUpdated = jdbcTemplate.update(REPRICE_TOTALS_SQL, taxRate, taxRate,
+                    Timestamp.valueOf(LocalDateTime.now()), quotations.toArray(Long[]::new));
+        }
+        int parameterCount = parameters != null ? parameters.size() : prices.parameterKeys().size();
+        return new RepriceResult(parameterCount, lineRows.size(), quotationsUpdated, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "system";
+    }
+}
@@ -0,0 +1,7 @@
+package com.lindel.lindel.service;
+
+import java.util.Set;
+
+/** Published when a catalog reload changes the unit price of the named (lower-case) test parameters. */
+public record QuotationPricesChangedEvent(Set<String> parameters) {
+}
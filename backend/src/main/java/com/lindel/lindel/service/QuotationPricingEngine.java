@@ -0,0 +1,224 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.entity.PriceList;
+import com.lindel.lindel.entity.QuotationItem;
+import com.lindel.lindel.metrics.MetricsSource;
+import com.lindel.lindel.repository.PriceListRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prices quotations on the server with exact {@link BigDecimal} arithmetic.
+ * <p>
+ * Unit prices come only from the {@link PriceIndex}: published price lists (standard and
+ * per-customer, each with an effective-from date) over the catalog's
+ * {@code TestParameter.defaultPrice} values as the baseline. The index is rebuilt when the
+ * catalog reloads or a price list is published or withdrawn, and swapped in with one volatile
+ * write. Each line is {@code unitPrice x quantity} (quantity = number of samples), the tax is
+ * {@code subtotal x quotations.tax-rate} rounded half-up to cents, and total = subtotal + tax.
+ * A rebuild that changes prices publishes a {@link QuotationPricesChangedEvent} naming the
+ * affected parameters so open quotations can be re-priced.
+ */
+@Service
+@Slf4j
+public class QuotationPricingEngine implements MetricsSource {
+
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    private final TestParameterCatalog testParameterCatalog;
+    private final PriceListRepository priceListRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final BigDecimal taxRate;
+
+    private volatile PriceIndex index = PriceIndex.EMPTY;
+    private final LongAdder quotationsPriced = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public QuotationPricingEngine(TestParameterCatalog testParameterCatalog,
+                                  PriceListRepository priceListRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${quotations.tax-rate:0.10}") BigDecimal taxRate) {
+        this.testParameterCatalog = testParameterCatalog;
+        this.priceListRepository = priceListRepository;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Rebuilds also run from afterCommit callbacks, where the finished transaction is still bound
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taxRate = taxRate;
+    }
+
+    /** Items and totals of one priced quotation. */
+    public record Pricing(List<QuotationItem> items, BigDecimal subtotal, BigDecimal tax, BigDecimal total) {
+    }
+
+    /** The current price index, built first if the catalog has moved on since it was taken. */
+    public PriceIndex prices() {
+        TestParameterCatalog.Snapshot catalog = testParameterCatalog.snapshot();
+        PriceIndex current = index;
+        return current.catalogVersion() == catalog.version() && current.generation() > 0
+                ? current : rebuild(catalog, null);
+    }
+
+    @EventListener
+    public void onCatalogReloaded(TestParameterCatalogReloadedEvent event) {
+        if (index.catalogVersion() < event.snapshot().version()) {
+            rebuild(event.snapshot(), null);
+        }
+    }
+
+    /** Rebuilds the index after price lists changed; {@code parameters} are the names they price. */
+    public PriceIndex onPriceListsChanged(Collection<String> parameters) {
+        return rebuild(testParameterCatalog.snapshot(), parameters);
+    }
+
+    private synchronized PriceIndex rebuild(TestParameterCatalog.Snapshot catalog, Collection<String> touched) {
+        PriceIndex previous = index;
+        List<PriceList> published = readTransaction.execute(status -> priceListRepository.findPublishedWithPrices());
+        PriceIndex next = PriceIndex.build(catalog, published, previous.generation() + 1);
+        index = next;
+        rebuilds.increment();
+
+        if (previous != PriceIndex.EMPTY) {
+            Set<String> changed = changedToday(previous, next, touched);
+            if (!changed.isEmpty()) {
+                log.info("Unit prices changed for {}", changed);
+                eventPublisher.publishEvent(new QuotationPricesChangedEvent(changed));
+            }
+        }
+        return next;
+    }
+
+    /** Parameters whose standard price today differs, plus every parameter a changed price list names. */
+    private static Set<String> changedToday(PriceIndex previous, PriceIndex next, Collection<String> touched) {
+        LocalDate today = LocalDate.now();
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> keys = new LinkedHashSet<>(next.parameterKeys());
+        keys.addAll(previous.parameterKeys());
+        for (String key : keys) {
+            BigDecimal before = previous.resolve(key, null, today);
+            BigDecimal after = next.resolve(key, null, today);
+            if (before == null ? after != null : after == null || before.compareTo(after) != 0) {
+                changed.add(key);
+            }
+        }
+        if (touched != null) {
+            touched.forEach(parameter -> changed.add(PriceIndex.key(parameter)));
+        }
+        return changed;
+    }
+
+    /**
+     * Prices the given test parameters for {@code numberOfSamples} samples each, at the prices in
+     * force for {@code customer} on {@code date}. Every parameter must have a price.
+     */
+    public Pricing price(List<String> parameters, Integer numberOfSamples, String customer, LocalDate date) {
+        if (parameters == null || parameters.isEmpty()) {
+            throw new RuntimeException("No test parameters to price");
+        }
+        PriceIndex prices = prices();
+        int quantity = numberOfSamples == null || numberOfSamples < 1 ? 1 : numberOfSamples;
+        List<QuotationItem> items = new ArrayList<>(parameters.size());
+        Set<String> unpriced = new LinkedHashSet<>();
+        for (String parameter : parameters) {
+            BigDecimal unitPrice = prices.resolve(parameter, customer, date);
+            if (unitPrice == null) {
+                unpriced.add(parameter);
+                continue;
+            }
+            items.add(new QuotationItem(prices.name(parameter), quantity, unitPrice, null));
+        }
+        if (!unpriced.isEmpty()) {
+            throw new RuntimeException("No price for test parameters: " + String.join(", ", unpriced));
+        }
+        return totals(items);
+    }
+
+    /**
+     * Re-prices client-supplied lines: each unit price is resolved from the index for
+     * {@code customer} on {@code date}, whatever the client sent; only parameter and quantity
+     * are kept. Every parameter must have a price.
+     */
+    public Pricing priceItems(List<QuotationItem> items, String customer, LocalDate date) {
+        PriceIndex prices = prices();
+        List<QuotationItem> priced = new ArrayList<>(items.size());
+        Set<String> unpriced = new LinkedHashSet<>();
+        for (QuotationItem item : items) {
+            BigDecimal unitPrice = item.getParameter() == null ? null : prices.resolve(item.getParameter(), customer, date);
+            if (unitPrice == null) {
+                unpriced.add(String.valueOf(item.getParameter()));
+                continue;
+            }
+            int quantity = item.getQuantity() == null || item.getQuantity() < 1 ? 1 : item.getQuantity();
+            priced.add(new QuotationItem(prices.name(item.getParameter()), quantity, unitPrice, null));
+        }
+        if (!unpriced.isEmpty()) {
+            throw new RuntimeException("No price for test parameters: " + String.join(", ", unpriced));
+        }
+        return totals(priced);
+    }
+
+    /** Computes line totals, subtotal, tax and total from resolved unit prices and quantities. */
+    private Pricing totals(List<QuotationItem> items) {
+        BigDecimal subtotal = BigDecimal.ZERO.setScale(SCALE, ROUNDING);
+        for (QuotationItem item : items) {
+            BigDecimal unitPrice = Objects.requireNonNullElse(item.getUnitPrice(), BigDecimal.ZERO).setScale(SCALE, ROUNDING);
+            int quantity = item.getQuantity() == null ? 0 : item.getQuantity();
+            item.setUnitPrice(unitPrice);
+            item.setTotalPrice(unitPrice.multiply(BigDecimal.valueOf(quantity)).setScale(SCALE, ROUNDING));
+            subtotal = subtotal.add(item.getTotalPrice());
+        }
+        BigDecimal tax = tax(subtotal);
+        quotationsPriced.increment();
+        return new Pricing(items, subtotal, tax, subtotal.add(tax));
+    }
+
+    public BigDecimal tax(BigDecimal subtotal) {
+        return subtotal.multiply(taxRate).setScale(SCALE, ROUNDING);
+    }
+
+    public BigDecimal taxRate() {
+        return taxRate;
+    }
+
+    @Override
+    public String metricsName() {
+        return "quotation-pricing";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        PriceIndex current = index;
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("generation", current.generation());
+        values.put("catalogVersion", current.catalogVersion());
+        values.put("pricedParameters", current.parameterKeys().size());
+        values.put("timelines", current.timelineCount());
+        values.put("taxRate", taxRate);
+        values.put("quotationsPriced", quotationsPriced.sum());
+        values.put("rebuilds", rebuilds.sum());
+        return values;
+    }
+}
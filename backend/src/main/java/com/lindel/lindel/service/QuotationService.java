@@ -1,11 +1,22 @@
 package com.lindel.lindel.service;
 
+import com.lindel.lindel.audit.Audited;
 import com.lindel.lindel.entity.Quotation;
+import com.lindel.lindel.entity.QuotationItem;
+import com.lindel.lindel.entity.Request;
 import com.lindel.lindel.repository.QuotationRepository;
+import com.lindel.lindel.repository.RequestRepository;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.search.SearchType;
+import com.lindel.lindel.service.DocumentNumberAllocator.DocumentType;
+import com.lindel.lindel.service.QuotationPricingEngine.Pricing;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,6 +25,11 @@ import java.util.List;
 public class QuotationService {
 
     private final QuotationRepository quotationRepository;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final StatusHistogramService statusHistogramService;
+    private final QuotationPricingEngine pricingEngine;
+    private final RequestRepository requestRepository;
+    private final SearchIndexer searchIndexer;
 
     public List<Quotation> getAllQuotations() {
         return quotationRepository.findAll();
@@ -38,45 +54,60 @@ public class QuotationService {
     }
 
     @Transactional
+    @Audited(module = "Quotation", action = "CREATE")
     public Quotation createQuotation(Quotation quotation) {
         // Generate Quotation ID if not provided
         if (quotation.getQuotationId() == null || quotation.getQuotationId().isEmpty()) {
             quotation.setQuotationId(generateQuotationId());
         }
 
-        // Validate unique Quotation ID
-        if (quotationRepository.existsByQuotationId(quotation.getQuotationId())) {
-            throw new RuntimeException("Quotation ID already exists: " + quotation.getQuotationId());
-        }
-
         // Set default status
         if (quotation.getStatus() == null) {
             quotation.setStatus("draft");
         }
 
-        return quotationRepository.save(quotation);
+        // Unit prices come from the price index and totals are computed here, never taken from the client
+        if (quotation.getItems() != null && !quotation.getItems().isEmpty()) {
+            applyPricing(quotation, pricingEngine.priceItems(quotation.getItems(), quotation.getCustomer(), LocalDate.now()));
+        }
+
+        // Uniqueness of the Quotation ID is enforced by the unique constraint
+        try {
+            Quotation saved = quotationRepository.save(quotation);
+            statusHistogramService.created(Counted.QUOTATION, saved.getStatus());
+            searchIndexer.changed(SearchType.QUOTATION, saved.getId());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Could not save quotation " + quotation.getQuotationId() + ": duplicate Quotation ID or missing required field");
+        }
     }
 
     @Transactional
+    @Audited(module = "Quotation", action = "UPDATE")
     public Quotation updateQuotation(Long id, Quotation quotationDetails) {
         Quotation quotation = getQuotationById(id);
+        String previousStatus = quotation.getStatus();
 
         if (quotationDetails.getCustomer() != null) quotation.setCustomer(quotationDetails.getCustomer());
-        if (quotationDetails.getItems() != null) quotation.setItems(quotationDetails.getItems());
-        if (quotationDetails.getSubtotal() != null) quotation.setSubtotal(quotationDetails.getSubtotal());
-        if (quotationDetails.getTax() != null) quotation.setTax(quotationDetails.getTax());
-        if (quotationDetails.getTotal() != null) quotation.setTotal(quotationDetails.getTotal());
+        if (quotationDetails.getItems() != null || quotationDetails.getCustomer() != null) {
+            List<QuotationItem> items = quotationDetails.getItems() != null ? quotationDetails.getItems() : quotation.getItems();
+            applyPricing(quotation, pricingEngine.priceItems(items, quotation.getCustomer(), LocalDate.now()));
+        }
         if (quotationDetails.getStatus() != null) quotation.setStatus(quotationDetails.getStatus());
         if (quotationDetails.getNotes() != null) quotation.setNotes(quotationDetails.getNotes());
         if (quotationDetails.getPreparedBy() != null) quotation.setPreparedBy(quotationDetails.getPreparedBy());
         if (quotationDetails.getApprovedBy() != null) quotation.setApprovedBy(quotationDetails.getApprovedBy());
 
+        statusHistogramService.statusChanged(Counted.QUOTATION, previousStatus, quotation.getStatus());
+        searchIndexer.changed(SearchType.QUOTATION, id);
         return quotationRepository.save(quotation);
     }
 
     @Transactional
+    @Audited(module = "Quotation", action = "UPDATE_STATUS")
     public Quotation updateQuotationStatus(Long id, String status) {
         Quotation quotation = getQuotationById(id);
+        statusHistogramService.statusChanged(Counted.QUOTATION, quotation.getStatus(), status);
         quotation.setStatus(status);
 
         if ("sent".equals(status) && quotation.getSentDate() == null) {
@@ -91,17 +122,55 @@ public class QuotationService {
     }
 
     @Transactional
+    @Audited(module = "Quotation", action = "DELETE")
     public void deleteQuotation(Long id) {
         Quotation quotation = getQuotationById(id);
+        statusHistogramService.deleted(Counted.QUOTATION, quotation.getStatus());
+        searchIndexer.changed(SearchType.QUOTATION, id);
         quotationRepository.delete(quotation);
     }
 
+    /** Builds and saves a draft quotation for a request, priced from the catalog. */
+    @Transactional
+    @Audited(module = "Quotation", action = "GENERATE")
+    public Quotation generateFromRequest(Long requestId) {
+        Request request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new RuntimeException("Request not found with id: " + requestId));
+        if (request.getQuotationId() != null) {
+            throw new RuntimeException("Request " + request.getRequestId() + " already has quotation " + request.getQuotationId());
+        }
+
+        Quotation quotation = new Quotation();
+        quotation.setQuotationId(generateQuotationId());
+        quotation.setRequestId(request.getId());
+        quotation.setCustomer(request.getCustomer());
+        quotation.setStatus("draft");
+        quotation.setNotes(request.getNotes());
+        applyPricing(quotation, pricingEngine.price(request.getParameters(), request.getNumberOfSamples(),
+                request.getCustomer(), LocalDate.now()));
+        Quotation saved = quotationRepository.save(quotation);
+        statusHistogramService.created(Counted.QUOTATION, saved.getStatus());
+        searchIndexer.changed(SearchType.QUOTATION, saved.getId());
+
+        statusHistogramService.statusChanged(Counted.REQUEST, request.getStatus(), "quoted");
+        request.setStatus("quoted");
+        request.setQuotationId(saved.getId());
+        requestRepository.save(request);
+        return saved;
+    }
+
     public Long countByStatus(String status) {
         return quotationRepository.countByStatus(status);
     }
 
+    private static void applyPricing(Quotation quotation, Pricing pricing) {
+        quotation.setItems(pricing.items());
+        quotation.setSubtotal(pricing.subtotal());
+        quotation.setTax(pricing.tax());
+        quotation.setTotal(pricing.total());
+    }
+
     private String generateQuotationId() {
-        long count = quotationRepository.count();
-        return String.format("QTN-%04d", count + 1);
+        return String.format("QTN-%04d", documentNumberAllocator.next(DocumentType.QUOTATION, "QTN-"));
     }
 }
@@ -0,0 +1,199 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.dto.RequestConversionItem;
+import com.lindel.lindel.dto.RequestConversionRequest;
+import com.lindel.lindel.dto.RequestConversionResult;
+import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.entity.Quotation;
+import com.lindel.lindel.entity.Request;
+import com.lindel.lindel.repository.CRFRepository;
+import com.lindel.lindel.repository.QuotationRepository;
+import com.lindel.lindel.repository.RequestRepository;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Converts a request into an approved quotation and a CRF with its samples in one call.
+ * <p>
+ * Each request is converted in its own transaction: the request row is locked, a quotation is
+ * generated if the request has none, the quotation is approved, the CRF is created (samples go
+ * in as one JDBC batch) and the request is linked and marked converted. Either all of that
+ * commits or none of it does. Conversion is idempotent: a request that already has a CRF is
+ * reported as converted with its existing quotation and CRF, so retrying a batch is safe, and
+ * the row lock makes a concurrent retry wait for the first attempt instead of duplicating it.
+ */
+@Service
+@Slf4j
+public class RequestConversionService {
+
+    private final RequestRepository requestRepository;
+    private final QuotationRepository quotationRepository;
+    private final CRFRepository crfRepository;
+    private final QuotationService quotationService;
+    private final CRFService crfService;
+    private final StatusHistogramService statusHistogramService;
+    private final TransactionTemplate conversionTransaction;
+    private final String defaultCrfType;
+    private final int maxBatch;
+
+    public RequestConversionService(RequestRepository requestRepository,
+                                    QuotationRepository quotationRepository,
+                                    CRFRepository crfRepository,
+                                    QuotationService quotationService,
+                                    CRFService crfService,
+                                    StatusHistogramService statusHistogramService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${requests.conversion.default-crf-type:CS}") String defaultCrfType,
+                                    @Value("${requests.conversion.max-batch:500}") int maxBatch) {
+        this.requestRepository = requestRepository;
+        this.quotationRepository = quotationRepository;
+        this.crfRepository = crfRepository;
+        this.quotationService = quotationService;
+        this.crfService = crfService;
+        this.statusHistogramService = statusHistogramService;
+        this.conversionTransaction = new TransactionTemplate(transactionManager);
+        this.conversionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultCrfType = defaultCrfType;
+        this.maxBatch = maxBatch;
+    }
+
+    /** Converts one request; failures are thrown so the caller sees why nothing was written. */
+    @Audited(module = "Request", action = "CONVERT")
+    public RequestConversionItem convert(Long requestId, RequestConversionRequest options) {
+        RequestConversionRequest settings = options == null ? new RequestConversionRequest() : options;
+        return conversionTransaction.execute(status -> convertOne(requestId, settings));
+    }
+
+    /**
+     * Converts many requests, each in its own transaction so one bad request does not roll back
+     * the rest of the batch. Duplicate ids are converted once.
+     */
+    @Audited(module = "Request", action = "CONVERT_BATCH")
+    public RequestConversionResult convertAll(RequestConversionRequest request) {
+        if (request == null || request.getRequestIds() == null || request.getRequestIds().isEmpty()) {
+            throw new RuntimeException("At least one request id is required");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getRequestIds()));
+        if (ids.size() > maxBatch) {
+            throw new RuntimeException("At most " + maxBatch + " requests can be converted in one call");
+        }
+
+        long started = System.nanoTime();
+        List<RequestConversionItem> items = new ArrayList<>(ids.size());
+        int converted = 0;
+        int alreadyConverted = 0;
+        int failed = 0;
+        for (Long id : ids) {
+            RequestConversionItem item;
+            try {
+                item = conversionTransaction.execute(status -> convertOne(id, request));
+            } catch (RuntimeException e) {
+                log.warn("Conversion of request {} failed: {}", id, e.getMessage());
+                item = new RequestConversionItem();
+                item.setRequestId(id);
+                item.setMessage(e.getMessage());
+            }
+            items.add(item);
+            if (!item.isSuccess()) {
+                failed++;
+            } else if (item.isAlreadyConverted()) {
+                alreadyConverted++;
+            } else {
+                converted++;
+            }
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        return new RequestConversionResult(ids.size(), converted, alreadyConverted, failed, durationMs, items);
+    }
+
+    private RequestConversionItem convertOne(Long requestId, RequestConversionRequest options) {
+        Request request = requestRepository.findByIdForUpdate(requestId)
+                .orElseThrow(() -> new RuntimeException("Request not found with id: " + requestId));
+
+        if (request.getCrfId() != null) {
+            return alreadyConverted(request);
+        }
+        if ("rejected".equals(request.getStatus())) {
+            throw new RuntimeException("Request " + request.getRequestId() + " was rejected and cannot be converted");
+        }
+
+        Quotation quotation = request.getQuotationId() == null
+                ? quotationService.generateFromRequest(request.getId())
+                : quotationRepository.findById(request.getQuotationId())
+                        .orElseThrow(() -> new RuntimeException("Quotation not found with id: " + request.getQuotationId()));
+        approve(quotation);
+
+        CRF crf = crfService.createCRF(crfFor(request, quotation, options));
+
+        statusHistogramService.statusChanged(Counted.REQUEST, request.getStatus(), "converted");
+        request.setStatus("converted");
+        request.setQuotationId(quotation.getId());
+        request.setCrfId(crf.getId());
+        requestRepository.save(request);
+
+        return new RequestConversionItem(request.getId(), request.getRequestId(), true, false,
+                quotation.getId(), quotation.getQuotationId(), crf.getId(), crf.getCrfId(),
+                crf.getNumberOfSamples(), "Converted");
+    }
+
+    private RequestConversionItem alreadyConverted(Request request) {
+        String quotationNumber = request.getQuotationId() == null ? null
+                : quotationRepository.findById(request.getQuotationId()).map(Quotation::getQuotationId).orElse(null);
+        CRF crf = crfRepository.findById(request.getCrfId()).orElse(null);
+        return new RequestConversionItem(request.getId(), request.getRequestId(), true, true,
+                request.getQuotationId(), quotationNumber, request.getCrfId(),
+                crf == null ? null : crf.getCrfId(), crf == null ? 0 : crf.getNumberOfSamples(),
+                "Already converted");
+    }
+
+    private void approve(Quotation quotation) {
+        if ("approved".equals(quotation.getStatus())) {
+            return;
+        }
+        if ("rejected".equals(quotation.getStatus())) {
+            throw new RuntimeException("Quotation " + quotation.getQuotationId() + " was rejected");
+        }
+        statusHistogramService.statusChanged(Counted.QUOTATION, quotation.getStatus(), "approved");
+        quotation.setStatus("approved");
+        quotation.setApprovedDate(LocalDateTime.now());
+        if (quotation.getApprovedBy() == null) {
+            quotation.setApprovedBy(currentUser());
+        }
+        quotationRepository.save(quotation);
+    }
+
+    private CRF crfFor(Request request, Quotation quotation, RequestConversionRequest options) {
+        CRF crf = new CRF();
+        crf.setCrfType(options.getCrfType() == null || options.getCrfType().isBlank() ? defaultCrfType : options.getCrfType());
+        crf.setCustomer(request.getCustomer());
+        crf.setAddress(request.getAddress());
+        crf.setContact(request.getContact());
+        crf.setEmail(request.getEmail());
+        crf.setSampleType(request.getSampleType());
+        crf.setTestParameters(new ArrayList<>(request.getParameters()));
+        crf.setNumberOfSamples(request.getNumberOfSamples());
+        crf.setSamplingType(options.getSamplingType());
+        crf.setReceivedBy(options.getReceivedBy() == null ? currentUser() : options.getReceivedBy());
+        crf.setPriority(request.getPriority());
+        crf.setQuotationRef(quotation.getQuotationId());
+        return crf;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "system";
+    }
+}
@@ -1,8 +1,14 @@
 package com.lindel.lindel.service;
 
+import com.lindel.lindel.audit.Audited;
 import com.lindel.lindel.entity.Request;
 import com.lindel.lindel.repository.RequestRepository;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.search.SearchType;
+import com.lindel.lindel.service.DocumentNumberAllocator.DocumentType;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +19,10 @@ import java.util.List;
 public class RequestService {
 
     private final RequestRepository requestRepository;
+    private final DocumentNumberAllocator documentNumberAllocator;
+    private final StatusHistogramService statusHistogramService;
+    private final TestParameterCatalog testParameterCatalog;
+    private final SearchIndexer searchIndexer;
 
     public List<Request> getAllRequests() {
         return requestRepository.findAll();
@@ -37,28 +47,37 @@ public class RequestService {
     }
 
     @Transactional
+    @Audited(module = "Request", action = "CREATE")
     public Request createRequest(Request request) {
         // Generate Request ID if not provided
         if (request.getRequestId() == null || request.getRequestId().isEmpty()) {
             request.setRequestId(generateRequestId());
         }
 
-        // Validate unique Request ID
-        if (requestRepository.existsByRequestId(request.getRequestId())) {
-            throw new RuntimeException("Request ID already exists: " + request.getRequestId());
-        }
-
         // Set default status
         if (request.getStatus() == null) {
             request.setStatus("pending");
         }
 
-        return requestRepository.save(request);
+        // Check requested tests against the in-memory catalog
+        request.setParameters(testParameterCatalog.validate(request.getSampleType(), request.getParameters()));
+
+        // Uniqueness of the Request ID is enforced by the unique constraint
+        try {
+            Request saved = requestRepository.save(request);
+            statusHistogramService.created(Counted.REQUEST, saved.getStatus());
+            searchIndexer.changed(SearchType.REQUEST, saved.getId());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Could not save request " + request.getRequestId() + ": duplicate Request ID or missing required field");
+        }
     }
 
     @Transactional
+    @Audited(module = "Request", action = "UPDATE")
     public Request updateRequest(Long id, Request requestDetails) {
         Request request = getRequestById(id);
+        String previousStatus = request.getStatus();
 
         if (requestDetails.getCustomer() != null) request.setCustomer(requestDetails.getCustomer());
         if (requestDetails.getContact() != null) request.setContact(requestDetails.getContact());
@@ -73,19 +92,26 @@ public class RequestService {
         if (requestDetails.getQuotationId() != null) request.setQuotationId(requestDetails.getQuotationId());
         if (requestDetails.getCrfId() != null) request.setCrfId(requestDetails.getCrfId());
 
+        statusHistogramService.statusChanged(Counted.REQUEST, previousStatus, request.getStatus());
+        searchIndexer.changed(SearchType.REQUEST, id);
         return requestRepository.save(request);
     }
 
     @Transactional
+    @Audited(module = "Request", action = "UPDATE_STATUS")
     public Request updateRequestStatus(Long id, String status) {
         Request request = getRequestById(id);
+        statusHistogramService.statusChanged(Counted.REQUEST, request.getStatus(), status);
         request.setStatus(status);
         return requestRepository.save(request);
     }
 
     @Transactional
+    @Audited(module = "Request", action = "DELETE")
     public void deleteRequest(Long id) {
         Request request = getRequestById(id);
+        statusHistogramService.deleted(Counted.REQUEST, request.getStatus());
+        searchIndexer.changed(SearchType.REQUEST, id);
         requestRepository.delete(request);
     }
 
@@ -94,7 +120,6 @@ public class RequestService {
     }
 
     private String generateRequestId() {
-        long count = requestRepository.count();
-        return String.format("REQ-%04d", count + 1);
+        return String.format("REQ-%04d", documentNumberAllocator.next(DocumentType.REQUEST, "REQ-"));
     }
 }
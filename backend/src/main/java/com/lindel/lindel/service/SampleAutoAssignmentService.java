@@ -0,0 +1,225 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.dto.AutoAssignResult;
+import com.lindel.lindel.dto.SampleAssignment;
+import com.lindel.lindel.entity.Chemist;
+import com.lindel.lindel.entity.Sample;
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.repository.CRFRepository;
+import com.lindel.lindel.repository.ChemistRepository;
+import com.lindel.lindel.repository.SampleRepository;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Assigns pending samples to active chemists in bulk.
+ * <p>
+ * Samples are taken most urgent CRF first (Rush, Urgent, Normal, then reception date). Each
+ * sample's category is the category shared by most of its CRF's test parameters, and it goes
+ * to the least-loaded active chemist whose specialization matches that category, as long as
+ * the chemist is below {@code samples.auto-assign.max-active-per-chemist}. Chemist capacity is
+ * tracked in one priority queue per category, so a run over thousands of samples costs
+ * O(n log c). The plan is written with one guarded UPDATE per chemist in a single transaction;
+ * samples changed concurrently are reported as unassigned.
+ */
+@Service
+@RequiredArgsConstructor
+public class SampleAutoAssignmentService {
+
+    private static final String ANY_CATEGORY = "";
+    private static final String ASSIGN_SQL = "UPDATE samples SET assigned_to = ?, status = 'assigned', assigned_date = ? "
+            + "WHERE id = ANY(?) AND status = 'pending' AND assigned_to IS NULL RETURNING id";
+
+    private final SampleRepository sampleRepository;
+    private final CRFRepository crfRepository;
+    private final ChemistRepository chemistRepository;
+    private final TestParameterCatalog testParameterCatalog;
+    private final StatusHistogramService statusHistogramService;
+    private final ChemistWorkloadService chemistWorkloadService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${samples.auto-assign.max-active-per-chemist:25}")
+    private int maxActivePerChemist;
+
+    @Value("${samples.auto-assign.max-batch:5000}")
+    private int maxBatch;
+
+    @Value("${samples.auto-assign.fallback-to-any-chemist:false}")
+    private boolean fallbackToAnyChemist;
+
+    @Transactional
+    @Audited(module = "Sample", action = "AUTO_ASSIGN")
+    public AutoAssignResult autoAssign(boolean dryRun, Integer limit) {
+        int batch = limit == null || limit < 1 ? maxBatch : Math.min(limit, maxBatch);
+        List<Sample> pending = sampleRepository.findUnassignedPending(PageRequest.of(0, batch));
+
+        Map<Long, List<String>> parametersByCrf = new HashMap<>();
+        Set<Long> crfIds = new HashSet<>();
+        pending.forEach(sample -> crfIds.add(sample.getCrf().getId()));
+        if (!crfIds.isEmpty()) {
+            for (Object[] row : crfRepository.findTestParameterNames(crfIds)) {
+                parametersByCrf.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        TestParameterCatalog.Snapshot catalog = testParameterCatalog.snapshot();
+
+        List<ChemistSlot> slots = chemistRepository.findByActive(true).stream().map(ChemistSlot::new).toList();
+        Map<String, PriorityQueue<QueueEntry>> queues = new HashMap<>();
+
+        List<SampleAssignment> assigned = new ArrayList<>();
+        List<SampleAssignment> unassigned = new ArrayList<>();
+        Map<ChemistSlot, List<SampleAssignment>> plan = new LinkedHashMap<>();
+
+        for (Sample sample : pending) {
+            String category = primaryCategory(parametersByCrf.get(sample.getCrf().getId()), catalog);
+            SampleAssignment assignment = new SampleAssignment(sample.getId(), sample.getSampleId(),
+                    sample.getCrf().getCrfId(), sample.getCrf().getPriority(), category, null, null);
+
+            PriorityQueue<QueueEntry> queue = queues.computeIfAbsent(category, key -> queueFor(slots, key));
+            ChemistSlot slot = takeLeastLoaded(queue);
+            if (slot == null && fallbackToAnyChemist && !category.equals(ANY_CATEGORY)) {
+                queue = queues.computeIfAbsent(ANY_CATEGORY, key -> queueFor(slots, key));
+                slot = takeLeastLoaded(queue);
+            }
+            if (slot == null) {
+                assignment.setReason(queue.isEmpty()
+                        ? "No active chemist with a specialization matching " + describe(category)
+                        : "All chemists matching " + describe(category) + " are at capacity");
+                unassigned.add(assignment);
+                continue;
+            }
+            slot.load++;
+            queue.add(new QueueEntry(slot, slot.load));
+            assignment.setChemist(slot.name);
+            plan.computeIfAbsent(slot, key -> new ArrayList<>()).add(assignment);
+            assigned.add(assignment);
+        }
+
+        if (!dryRun) {
+            assigned = write(plan, unassigned);
+        }
+
+        Map<String, Integer> chemistLoad = new TreeMap<>();
+        slots.forEach(slot -> chemistLoad.put(slot.name, slot.load));
+        return new AutoAssignResult(dryRun, pending.size(), assigned.size(), unassigned.size(),
+                assigned, unassigned, chemistLoad);
+    }
+
+    private List<SampleAssignment> write(Map<ChemistSlot, List<SampleAssignment>> plan, List<SampleAssignment> unassigned) {
+        List<SampleAssignment> written = new ArrayList<>();
+        List<ChemistWorkloadService.Transition> transitions = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        plan.forEach((slot, assignments) -> {
+            Long[] ids = assignments.stream().map(SampleAssignment::getId).toArray(Long[]::new);
+            Set<Long> updated = new HashSet<>(jdbcTemplate.queryForList(ASSIGN_SQL, Long.class, slot.name, now, ids));
+            for (SampleAssignment assignment : assignments) {
+                if (updated.contains(assignment.getId())) {
+                    written.add(assignment);
+                    transitions.add(new ChemistWorkloadService.Transition(null, "pending", slot.name, "assigned"));
+                } else {
+                    slot.load--;
+                    assignment.setChemist(null);
+                    assignment.setReason("Sample was changed while assigning");
+                    unassigned.add(assignment);
+                }
+            }
+        });
+        chemistWorkloadService.samplesChanged(transitions);
+        statusHistogramService.statusChanged(Counted.SAMPLE, "pending", "assigned", written.size());
+        return written;
+    }
+
+    /** Pops the least-loaded chemist with spare capacity, discarding entries made stale by other queues. */
+    private ChemistSlot takeLeastLoaded(PriorityQueue<QueueEntry> queue) {
+        while (!queue.isEmpty()) {
+            QueueEntry entry = queue.peek();
+            if (entry.load != entry.slot.load) {
+                queue.poll();
+                queue.add(new QueueEntry(entry.slot, entry.slot.load));
+                continue;
+            }
+            if (entry.slot.load >= maxActivePerChemist) {
+                return null;
+            }
+            return queue.poll().slot;
+        }
+        return null;
+    }
+
+    private PriorityQueue<QueueEntry> queueFor(List<ChemistSlot> slots, String category) {
+        Predicate<ChemistSlot> matches = category.equals(ANY_CATEGORY)
+                ? slot -> true
+                : slot -> specializationMatches(slot.specialization, category);
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>(
+                Comparator.comparingInt((QueueEntry entry) -> entry.load).thenComparing(entry -> entry.slot.name));
+        slots.stream().filter(matches).forEach(slot -> queue.add(new QueueEntry(slot, slot.load)));
+        return queue;
+    }
+
+    /** "Chemical Analysis" handles Chemical, "Microbiological Testing" handles Microbiological, and so on. */
+    static boolean specializationMatches(String specialization, String category) {
+        if (specialization == null) {
+            return false;
+        }
+        String spec = specialization.toLowerCase();
+        String cat = category.toLowerCase();
+        return spec.contains(cat) || cat.contains(spec.split("\\s+")[0]);
+    }
+
+    private static String primaryCategory(List<String> parameters, TestParameterCatalog.Snapshot catalog) {
+        if (parameters == null || parameters.isEmpty()) {
+            return ANY_CATEGORY;
+        }
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String parameter : parameters) {
+            String category = catalog.find(parameter).map(TestParameter::getCategory).orElse(null);
+            if (category != null) {
+                counts.merge(category, 1, Integer::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(ANY_CATEGORY);
+    }
+
+    private static String describe(String category) {
+        return category.equals(ANY_CATEGORY) ? "any category" : category;
+    }
+
+    private static final class ChemistSlot {
+        private final String name;
+        private final String specialization;
+        private int load;
+
+        private ChemistSlot(Chemist chemist) {
+            this.name = chemist.getName();
+            this.specialization = chemist.getSpecialization();
+            this.load = chemist.getActiveTasks() == null ? 0 : chemist.getActiveTasks();
+        }
+    }
+
+    private record QueueEntry(ChemistSlot slot, int load) {
+    }
+}
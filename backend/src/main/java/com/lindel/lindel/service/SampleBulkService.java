@@ -0,0 +1,205 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.audit.Audited;
+import com.lindel.lindel.dto.BulkSampleItem;
+import com.lindel.lindel.dto.BulkSampleResult;
+import com.lindel.lindel.repository.CRFRepository;
+import com.lindel.lindel.service.ChemistWorkloadService.Transition;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes many samples in one transaction. Assign and status changes are a single
+ * UPDATE ... FROM (SELECT ... FOR UPDATE) RETURNING statement, which locks the rows, applies
+ * the change and hands back every row's previous assignee and status; test values are
+ * JDBC-batched upserts. The status histogram and chemist workload counters are adjusted in
+ * aggregate.
+ */
+@Service
+@RequiredArgsConstructor
+public class SampleBulkService {
+
+    private static final String ASSIGN = "assign";
+    private static final String STATUS = "status";
+
+    private static final String ASSIGN_SQL = "UPDATE samples s SET assigned_to = ?, status = 'assigned', "
+            + "assigned_date = ?, updated_at = ? "
+            + "FROM (SELECT id, status, assigned_to FROM samples WHERE %s ORDER BY id FOR UPDATE) prev "
+            + "WHERE s.id = prev.id "
+            + "RETURNING s.id, s.sample_id, prev.status, prev.assigned_to, s.status, s.assigned_to";
+
+    private static final String STATUS_SQL = "UPDATE samples s SET status = ?, "
+            + "completed_date = CASE WHEN ? THEN COALESCE(s.completed_date, ?) ELSE s.completed_date END, "
+            + "updated_at = ? "
+            + "FROM (SELECT id, status, assigned_to FROM samples WHERE %s ORDER BY id FOR UPDATE) prev "
+            + "WHERE s.id = prev.id "
+            + "RETURNING s.id, s.sample_id, prev.status, prev.assigned_to, s.status, s.assigned_to";
+
+    private static final String LOCK_SAMPLES_SQL = "SELECT id, sample_id, status, assigned_to, completed_date "
+            + "FROM samples WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+    private static final String TEST_STATUS_SQL = "SELECT sample_id, parameter, status FROM sample_test_status "
+            + "WHERE sample_id = ANY(?)";
+
+    private static final String SAMPLE_STATUS_SQL = "UPDATE samples SET status = ?, completed_date = ?, updated_at = ? "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SampleTestResultWriter sampleTestResultWriter;
+    private final CRFRepository crfRepository;
+    private final StatusHistogramService statusHistogramService;
+    private final ChemistWorkloadService chemistWorkloadService;
+
+    @Value("${samples.bulk.max-items:10000}")
+    private int maxItems;
+
+    @Transactional
+    @Audited(module = "Sample", action = "BULK_ASSIGN")
+    public BulkSampleResult bulkAssign(List<Long> ids, Long crfId, String chemist) {
+        if (chemist == null || chemist.isBlank()) {
+            throw new RuntimeException("Chemist is required to assign samples");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return run(ASSIGN, ids, crfId, ASSIGN_SQL, chemist, now, now);
+    }
+
+    @Transactional
+    @Audited(module = "Sample", action = "BULK_UPDATE_STATUS")
+    public BulkSampleResult bulkUpdateStatus(List<Long> ids, Long crfId, String status) {
+        if (status == null || status.isBlank()) {
+            throw new RuntimeException("Status is required to update samples");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return run(STATUS, ids, crfId, STATUS_SQL, status, "completed".equals(status), now, now);
+    }
+
+    /**
+     * Enters test values for many samples at once ({@code sample id -> parameter -> value}).
+     * Only the touched rows of sample_test_values / sample_test_status are upserted, as JDBC
+     * batches through {@link SampleTestResultWriter}; each sample's completion is recomputed from its merged test statuses in memory
+     * and the samples whose status changes are updated in one more batch.
+     */
+    @Transactional
+    @Audited(module = "Sample", action = "BULK_UPDATE_TEST_VALUES")
+    public BulkSampleResult bulkUpdateTestValues(Map<Long, Map<String, String>> values) {
+        if (values == null || values.isEmpty()) {
+            throw new RuntimeException("No test values provided");
+        }
+        if (values.size() > maxItems) {
+            throw new RuntimeException("At most " + maxItems + " samples can be changed per request");
+        }
+        Long[] ids = values.keySet().stream().sorted().toArray(Long[]::new);
+
+        Map<Long, BulkSampleItem> found = new LinkedHashMap<>();
+        Map<Long, Timestamp> completedDates = new HashMap<>();
+        jdbcTemplate.query(LOCK_SAMPLES_SQL, rs -> {
+            long id = rs.getLong(1);
+            found.put(id, new BulkSampleItem(id, rs.getString(2), true, rs.getString(3), null, rs.getString(4), null));
+            completedDates.put(id, rs.getTimestamp(5));
+        }, (Object) ids);
+
+        Map<Long, Map<String, String>> testStatus = new HashMap<>();
+        jdbcTemplate.query(TEST_STATUS_SQL, rs -> {
+            testStatus.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).put(rs.getString(2), rs.getString(3));
+        }, (Object) ids);
+
+        List<Object[]> sampleRows = new ArrayList<>();
+        List<Transition> transitions = new ArrayList<>();
+        Map<List<String>, Integer> statusMoves = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (BulkSampleItem item : found.values()) {
+            Map<String, String> entered = values.get(item.getId());
+            Map<String, String> statuses = testStatus.computeIfAbsent(item.getId(), id -> new HashMap<>());
+            entered.keySet().forEach(parameter -> statuses.put(parameter, SampleTestResultWriter.COMPLETED));
+
+            boolean allCompleted = statuses.values().stream().allMatch(SampleTestResultWriter.COMPLETED::equals);
+            item.setStatus(allCompleted ? SampleTestResultWriter.COMPLETED : SampleTestResultWriter.TESTING);
+            Timestamp completedDate = allCompleted ? now : completedDates.get(item.getId());
+            sampleRows.add(new Object[]{item.getStatus(), completedDate, now, item.getId()});
+            transitions.add(new Transition(item.getAssignedTo(), item.getPreviousStatus(), item.getAssignedTo(), item.getStatus()));
+            statusMoves.merge(List.of(item.getPreviousStatus(), item.getStatus()), 1, Integer::sum);
+        }
+
+        Map<Long, Map<String, String>> touched = new LinkedHashMap<>();
+        found.keySet().forEach(id -> touched.put(id, values.get(id)));
+        sampleTestResultWriter.upsert(touched);
+        jdbcTemplate.batchUpdate(SAMPLE_STATUS_SQL, sampleRows);
+
+        chemistWorkloadService.samplesChanged(transitions);
+        statusMoves.forEach((move, count) ->
+                statusHistogramService.statusChanged(Counted.SAMPLE, move.get(0), move.get(1), count));
+
+        List<BulkSampleItem> items = new ArrayList<>(ids.length);
+        for (Long id : ids) {
+            BulkSampleItem item = found.get(id);
+            items.add(item != null ? item
+                    : new BulkSampleItem(id, null, false, null, null, null, "Sample not found with id: " + id));
+        }
+        return new BulkSampleResult("test-values", items.size(), found.size(), items.size() - found.size(), items);
+    }
+
+    private BulkSampleResult run(String operation, List<Long> ids, Long crfId, String sql, Object... values) {
+        boolean byCrf = ids == null || ids.isEmpty();
+        Set<Long> requested = byCrf ? Set.of() : new LinkedHashSet<>(ids);
+        if (byCrf && crfId == null) {
+            throw new RuntimeException("Either sample ids or a CRF id is required");
+        }
+        if (byCrf && !crfRepository.existsById(crfId)) {
+            throw new RuntimeException("CRF not found with id: " + crfId);
+        }
+        if (requested.size() > maxItems) {
+            throw new RuntimeException("At most " + maxItems + " samples can be changed per request");
+        }
+
+        Object[] args = new Object[values.length + 1];
+        System.arraycopy(values, 0, args, 0, values.length);
+        args[values.length] = byCrf ? crfId : requested.toArray(Long[]::new);
+
+        Map<Long, BulkSampleItem> updated = new HashMap<>();
+        List<Transition> transitions = new ArrayList<>();
+        Map<List<String>, Integer> statusMoves = new HashMap<>();
+        jdbcTemplate.query(String.format(sql, byCrf ? "crf_id = ?" : "id = ANY(?)"), rs -> {
+            BulkSampleItem item = new BulkSampleItem(rs.getLong(1), rs.getString(2), true,
+                    rs.getString(3), rs.getString(5), rs.getString(6), null);
+            updated.put(item.getId(), item);
+            transitions.add(new Transition(rs.getString(4), item.getPreviousStatus(), item.getAssignedTo(), item.getStatus()));
+            statusMoves.merge(List.of(item.getPreviousStatus(), item.getStatus()), 1, Integer::sum);
+        }, args);
+        if (byCrf && updated.size() > maxItems) {
+            throw new RuntimeException("CRF " + crfId + " has more than " + maxItems + " samples");
+        }
+
+        chemistWorkloadService.samplesChanged(transitions);
+        statusMoves.forEach((move, count) ->
+                statusHistogramService.statusChanged(Counted.SAMPLE, move.get(0), move.get(1), count));
+
+        List<BulkSampleItem> items = new ArrayList<>(byCrf ? updated.size() : requested.size());
+        if (byCrf) {
+            updated.values().stream()
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .forEach(items::add);
+        } else {
+            for (Long id : requested) {
+                BulkSampleItem item = updated.get(id);
+                items.add(item != null ? item
+                        : new BulkSampleItem(id, null, false, null, null, null, "Sample not found with id: " + id));
+            }
+        }
+        return new BulkSampleResult(operation, items.size(), updated.size(), items.size() - updated.size(), items);
+    }
+}
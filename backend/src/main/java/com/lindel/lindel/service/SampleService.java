@@ -1,7 +1,13 @@
 package com.lindel.lindel.service;
 
+import com.lindel.lindel.audit.Audited;
 import com.lindel.lindel.entity.Sample;
 import com.lindel.lindel.repository.SampleRepository;
+import com.lindel.lindel.search.SearchIndexer;
+import com.lindel.lindel.search.SearchType;
+import com.lindel.lindel.service.SampleTestResultWriter.LockedSample;
+import com.lindel.lindel.service.SampleTestResultWriter.StatusChange;
+import com.lindel.lindel.service.StatusHistogramService.Counted;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +21,10 @@ import java.util.Map;
 public class SampleService {
 
     private final SampleRepository sampleRepository;
+    private final StatusHistogramService statusHistogramService;
+    private final ChemistWorkloadService chemistWorkloadService;
+    private final SampleTestResultWriter sampleTestResultWriter;
+    private final SearchIndexer searchIndexer;
 
     public List<Sample> getAllSamples() {
         return sampleRepository.findAll();
@@ -43,63 +53,59 @@ public class SampleService {
     }
 
     @Transactional
+    @Audited(module = "Sample", action = "ASSIGN")
     public Sample assignSample(Long id, String chemist) {
         Sample sample = getSampleById(id);
+        String previousAssignee = sample.getAssignedTo();
+        String previousStatus = sample.getStatus();
         sample.setAssignedTo(chemist);
         sample.setStatus("assigned");
         sample.setAssignedDate(LocalDateTime.now());
+        recordChange(sample, previousAssignee, previousStatus);
         return sampleRepository.save(sample);
     }
 
+    /**
+     * Locks the sample, writes the entered values row by row (see {@link SampleTestResultWriter})
+     * without loading the sample's collections, then derives its status with one aggregate query.
+     */
     @Transactional
+    @Audited(module = "Sample", action = "UPDATE_TEST_VALUES")
     public Sample updateTestValues(Long id, Map<String, String> testValues) {
-        Sample sample = getSampleById(id);
-        
-        // Merge with existing test values
-        if (sample.getTestValues() == null) {
-            sample.setTestValues(testValues);
-        } else {
-            sample.getTestValues().putAll(testValues);
-        }
-
-        // Update test status for provided parameters
-        for (String parameter : testValues.keySet()) {
-            if (sample.getTestStatus() == null) {
-                sample.setTestStatus(Map.of(parameter, "completed"));
-            } else {
-                sample.getTestStatus().put(parameter, "completed");
-            }
+        // Sample lock first, then result rows: the same order as the bulk and ingest paths
+        LockedSample locked = sampleTestResultWriter.lock(id);
+        if (locked == null) {
+            throw new RuntimeException("Sample not found with id: " + id);
         }
+        sampleTestResultWriter.upsert(Map.of(id, testValues));
+        StatusChange change = sampleTestResultWriter.deriveStatus(locked);
 
-        // Check if all tests are completed
-        boolean allCompleted = sample.getTestStatus().values().stream()
-                .allMatch(status -> "completed".equals(status));
-        
-        if (allCompleted) {
-            sample.setStatus("completed");
-            sample.setCompletedDate(LocalDateTime.now());
-        } else {
-            sample.setStatus("testing");
-        }
-
-        return sampleRepository.save(sample);
+        statusHistogramService.statusChanged(Counted.SAMPLE, change.previousStatus(), change.status());
+        chemistWorkloadService.sampleChanged(change.assignedTo(), change.previousStatus(), change.assignedTo(), change.status());
+        return getSampleById(id);
     }
 
     @Transactional
+    @Audited(module = "Sample", action = "UPDATE_STATUS")
     public Sample updateSampleStatus(Long id, String status) {
         Sample sample = getSampleById(id);
+        String previousStatus = sample.getStatus();
         sample.setStatus(status);
 
         if ("completed".equals(status) && sample.getCompletedDate() == null) {
             sample.setCompletedDate(LocalDateTime.now());
         }
 
+        recordChange(sample, sample.getAssignedTo(), previousStatus);
         return sampleRepository.save(sample);
     }
 
     @Transactional
+    @Audited(module = "Sample", action = "UPDATE")
     public Sample updateSample(Long id, Sample sampleDetails) {
         Sample sample = getSampleById(id);
+        String previousAssignee = sample.getAssignedTo();
+        String previousStatus = sample.getStatus();
 
         if (sampleDetails.getDescription() != null) sample.setDescription(sampleDetails.getDescription());
         if (sampleDetails.getSubmissionDetail() != null) sample.setSubmissionDetail(sampleDetails.getSubmissionDetail());
@@ -107,6 +113,8 @@ public class SampleService {
         if (sampleDetails.getAssignedTo() != null) sample.setAssignedTo(sampleDetails.getAssignedTo());
         if (sampleDetails.getNotes() != null) sample.setNotes(sampleDetails.getNotes());
 
+        recordChange(sample, previousAssignee, previousStatus);
+        searchIndexer.changed(SearchType.SAMPLE, id);
         return sampleRepository.save(sample);
     }
 
@@ -117,4 +125,10 @@ public class SampleService {
     public Long countByChemist(String chemist) {
         return sampleRepository.countByAssignedTo(chemist);
     }
+
+    /** Status counters and chemist workload follow every assignee/status transition. */
+    private void recordChange(Sample sample, String previousAssignee, String previousStatus) {
+        statusHistogramService.statusChanged(Counted.SAMPLE, previousStatus, sample.getStatus());
+        chemistWorkloadService.sampleChanged(previousAssignee, previousStatus, sample.getAssignedTo(), sample.getStatus());
+    }
 }
@@ -0,0 +1,90 @@
+package com.lindel.lindel.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes test results one (sample, parameter) row at a time with INSERT ... ON CONFLICT DO UPDATE,
+ * so chemists entering different parameters of the same sample never overwrite each other and
+ * the cost depends only on the parameters entered, not on how many the sample has.
+ * <p>
+ * Callers lock the sample rows before upserting (see {@link #lock}; the bulk path locks in id
+ * order), so every writer takes the sample lock before any result row lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class SampleTestResultWriter {
+
+    public static final String COMPLETED = "completed";
+    public static final String TESTING = "testing";
+
+    private static final String UPSERT_VALUE_SQL = "INSERT INTO sample_test_values (sample_id, parameter, value) "
+            + "VALUES (?, ?, ?) ON CONFLICT (sample_id, parameter) DO UPDATE SET value = EXCLUDED.value";
+
+    private static final String UPSERT_STATUS_SQL = "INSERT INTO sample_test_status (sample_id, parameter, status) "
+            + "VALUES (?, ?, 'completed') ON CONFLICT (sample_id, parameter) DO UPDATE SET status = 'completed' "
+            + "WHERE sample_test_status.status IS DISTINCT FROM 'completed'";
+
+    private static final String LOCK_SAMPLE_SQL = "SELECT status, assigned_to FROM samples WHERE id = ? FOR UPDATE";
+
+    private static final String DERIVE_STATUS_SQL = "UPDATE samples s SET "
+            + "status = CASE WHEN t.open = 0 THEN 'completed' ELSE 'testing' END, "
+            + "completed_date = CASE WHEN t.open = 0 THEN ? ELSE s.completed_date END, "
+            + "updated_at = ? "
+            + "FROM (SELECT COUNT(*) FILTER (WHERE status IS DISTINCT FROM 'completed') AS open "
+            + "      FROM sample_test_status WHERE sample_id = ?) t "
+            + "WHERE s.id = ? RETURNING s.status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** A sample's status before and after its completion was re-derived. */
+    public record StatusChange(String previousStatus, String status, String assignedTo) {
+    }
+
+    /** Status and assignee of a sample, read while taking its row lock. */
+    public record LockedSample(long id, String status, String assignedTo) {
+    }
+
+    /** Upserts every entered value and marks its parameter completed, as two JDBC batches. */
+    public void upsert(Map<Long, Map<String, String>> values) {
+        List<Object[]> valueRows = new ArrayList<>();
+        List<Object[]> statusRows = new ArrayList<>();
+        values.forEach((sampleId, entered) -> entered.forEach((parameter, value) -> {
+            valueRows.add(new Object[]{sampleId, parameter, value});
+            statusRows.add(new Object[]{sampleId, parameter});
+        }));
+        if (!valueRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_VALUE_SQL, valueRows);
+            jdbcTemplate.batchUpdate(UPSERT_STATUS_SQL, statusRows);
+        }
+    }
+
+    /**
+     * Locks a sample row ahead of {@link #upsert}, so this path and the bulk path take the sample
+     * lock before any result row lock and cannot deadlock. Returns null if the sample does not exist.
+     */
+    public LockedSample lock(long sampleId) {
+        List<LockedSample> locked = jdbcTemplate.query(LOCK_SAMPLE_SQL,
+                (rs, rowNum) -> new LockedSample(sampleId, rs.getString(1), rs.getString(2)), sampleId);
+        return locked.isEmpty() ? null : locked.get(0);
+    }
+
+    /**
+     * Re-derives a locked sample's status from its test statuses with one aggregate: completed
+     * when no parameter is still open, otherwise testing. The lock was taken by a separate
+     * statement before, so under READ COMMITTED the aggregate sees every result committed by a
+     * concurrent writer that held the lock before us.
+     */
+    public StatusChange deriveStatus(LockedSample sample) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String status = jdbcTemplate.queryForObject(DERIVE_STATUS_SQL, String.class, now, now, sample.id(), sample.id());
+        return new StatusChange(sample.status(), status, sample.assignedTo());
+    }
+}
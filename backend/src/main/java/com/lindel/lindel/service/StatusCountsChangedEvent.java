@@ -0,0 +1,9 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.service.StatusHistogramService.Counted;
+
+/**
+ * Published after a committed create, status change or delete has been applied to the status counters.
+ */
+public record StatusCountsChangedEvent(Counted counted) {
+}
@@ -0,0 +1,183 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.dto.StatusHistogram;
+import com.lindel.lindel.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-status row counts for CRFs, requests, quotations and samples, kept in memory.
+ * <p>
+ * Services report creates, status changes and deletes; each delta is applied once the
+ * surrounding transaction commits, so rolled-back writes never show up. A scheduled
+ * GROUP BY per table replaces the counters to correct any drift (writes made outside
+ * the services, or a write racing the reconciliation itself). Every applied delta is announced
+ * with a {@link StatusCountsChangedEvent}.
+ */
+@Service
+@Slf4j
+public class StatusHistogramService implements MetricsSource {
+
+    public enum Counted {
+        CRF("crf", "crfs"),
+        REQUEST("requests", "requests"),
+        QUOTATION("quotations", "quotations"),
+        SAMPLE("samples", "samples");
+
+        private final String key;
+        private final String table;
+
+        Counted(String key, String table) {
+            this.key = key;
+            this.table = table;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Counted, ConcurrentMap<String, AtomicLong>> counters = new EnumMap<>(Counted.class);
+    private final LongAdder corrections = new LongAdder();
+    private volatile LocalDateTime reconciledAt;
+
+    public StatusHistogramService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        for (Counted counted : Counted.values()) {
+            counters.put(counted, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void created(Counted counted, String status) {
+        created(counted, status, 1);
+    }
+
+    /** Records {@code count} rows created with the same status, e.g. after a batched insert. */
+    public void created(Counted counted, String status, long count) {
+        if (count == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            add(counted, status, count);
+            eventPublisher.publishEvent(new StatusCountsChangedEvent(counted));
+        });
+    }
+
+    public void statusChanged(Counted counted, String from, String to) {
+        statusChanged(counted, from, to, 1);
+    }
+
+    /** Records {@code count} rows moving from one status to another, e.g. after a set-based UPDATE. */
+    public void statusChanged(Counted counted, String from, String to, long count) {
+        if (count == 0 || (from == null ? to == null : from.equals(to))) {
+            return;
+        }
+        afterCommit(() -> {
+            add(counted, from, -count);
+            add(counted, to, count);
+            eventPublisher.publishEvent(new StatusCountsChangedEvent(counted));
+        });
+    }
+
+    public void deleted(Counted counted, String status) {
+        afterCommit(() -> {
+            add(counted, status, -1);
+            eventPublisher.publishEvent(new StatusCountsChangedEvent(counted));
+        });
+    }
+
+    public StatusHistogram getHistogram() {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        counters.forEach((counted, byStatus) -> {
+            Map<String, Long> values = new TreeMap<>();
+            byStatus.forEach((status, count) -> {
+                long value = count.get();
+                if (value > 0) {
+                    values.put(status, value);
+                }
+            });
+            counts.put(counted.key, values);
+        });
+        return new StatusHistogram(counts, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}", initialDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            for (Counted counted : Counted.values()) {
+                Map<String, Long> actual = new HashMap<>();
+                jdbcTemplate.query("SELECT status, COUNT(*) FROM " + counted.table
+                                + " WHERE status IS NOT NULL GROUP BY status",
+                        rs -> {
+                            actual.put(rs.getString(1), rs.getLong(2));
+                        });
+                ConcurrentMap<String, AtomicLong> byStatus = counters.get(counted);
+                byStatus.forEach((status, count) -> {
+                    if (!actual.containsKey(status)) {
+                        actual.put(status, 0L);
+                    }
+                });
+                actual.forEach((status, count) -> {
+                    long previous = byStatus.computeIfAbsent(status, key -> new AtomicLong()).getAndSet(count);
+                    if (previous != count && reconciledAt != null) {
+                        corrections.increment();
+                        log.debug("Corrected {} count for status {}: {} -> {}", counted.key, status, previous, count);
+                    }
+                });
+            }
+            reconciledAt = LocalDateTime.now();
+        } catch (RuntimeException e) {
+            log.warn("Status histogram reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private void add(Counted counted, String status, long delta) {
+        if (status != null) {
+            counters.get(counted).computeIfAbsent(status, key -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "status-histogram";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("reconciledAt", reconciledAt);
+        values.put("corrections", corrections.sum());
+        return values;
+    }
+}
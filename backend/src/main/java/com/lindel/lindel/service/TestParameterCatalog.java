@@ -0,0 +1,312 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.metrics.MetricsSource;
+import com.lindel.lindel.repository.TestParameterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The active test parameter catalog, held in memory as an immutable {@link Snapshot}.
+ * <p>
+ * A snapshot numbers the parameters 0..n-1 and keeps a name index plus one {@link BitSet} per
+ * sample type, so name lookups and "is this parameter offered for this sample type" checks are
+ * O(1) without touching the database. Parameters with no applicable sample types apply to all
+ * of them. Changes made through this service publish a fresh snapshot after commit by swapping
+ * a single volatile reference; edits made elsewhere are picked up by the periodic reload or
+ * {@code POST /api/test-parameters/reload}.
+ */
+@Service
+@Slf4j
+public class TestParameterCatalog implements MetricsSource {
+
+    public enum Validation { OFF, WARN, STRICT }
+
+    private final TestParameterRepository testParameterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final Validation validation;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder rejectedValidations = new LongAdder();
+
+    public TestParameterCatalog(TestParameterRepository testParameterRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${test-parameters.validation:WARN}") Validation validation) {
+        this.testParameterRepository = testParameterRepository;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Reloads also run from afterCommit callbacks, where the finished transaction is still bound
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.validation = validation;
+    }
+
+    /** One immutable generation of the catalog. */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), 0);
+
+        private final List<TestParameter> parameters;
+        private final Map<String, Integer> indexByName;
+        private final Map<String, BitSet> bySampleType;
+        private final BitSet anySampleType;
+        private final long version;
+        private final LocalDateTime loadedAt;
+
+        private Snapshot(List<TestParameter> parameters, long version) {
+            this.parameters = List.copyOf(parameters);
+            this.version = version;
+            this.loadedAt = LocalDateTime.now();
+            Map<String, Integer> names = new HashMap<>();
+            Map<String, BitSet> types = new HashMap<>();
+            BitSet any = new BitSet(parameters.size());
+            for (int i = 0; i < this.parameters.size(); i++) {
+                TestParameter parameter = this.parameters.get(i);
+                names.put(key(parameter.getName()), i);
+                List<String> sampleTypes = parameter.getApplicableSampleTypes();
+                if (sampleTypes == null || sampleTypes.isEmpty()) {
+                    any.set(i);
+                } else {
+                    for (String sampleType : sampleTypes) {
+                        types.computeIfAbsent(key(sampleType), type -> new BitSet(this.parameters.size())).set(i);
+                    }
+                }
+            }
+            this.indexByName = Map.copyOf(names);
+            this.bySampleType = Map.copyOf(types);
+            this.anySampleType = any;
+        }
+
+        public List<TestParameter> parameters() {
+            return parameters;
+        }
+
+        public Optional<TestParameter> find(String name) {
+            Integer index = name == null ? null : indexByName.get(key(name));
+            return index == null ? Optional.empty() : Optional.of(parameters.get(index));
+        }
+
+        public boolean isApplicable(String name, String sampleType) {
+            Integer index = name == null ? null : indexByName.get(key(name));
+            if (index == null) {
+                return false;
+            }
+            if (anySampleType.get(index) || sampleType == null) {
+                return true;
+            }
+            BitSet applicable = bySampleType.get(key(sampleType));
+            return applicable != null && applicable.get(index);
+        }
+
+        public List<TestParameter> forSampleType(String sampleType) {
+            BitSet applicable = (BitSet) anySampleType.clone();
+            BitSet typed = bySampleType.get(key(sampleType));
+            if (typed != null) {
+                applicable.or(typed);
+            }
+            List<TestParameter> result = new ArrayList<>(applicable.cardinality());
+            for (int i = applicable.nextSetBit(0); i >= 0; i = applicable.nextSetBit(i + 1)) {
+                result.add(parameters.get(i));
+            }
+            return result;
+        }
+
+        public Set<String> sampleTypes() {
+            return bySampleType.keySet();
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public LocalDateTime loadedAt() {
+            return loadedAt;
+        }
+
+        private static String key(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** The current snapshot, loading the first one if a caller gets here before startup finished. */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current.version() == 0 ? reload() : current;
+    }
+
+    public List<TestParameter> getAll() {
+        return snapshot().parameters();
+    }
+
+    public List<TestParameter> getForSampleType(String sampleType) {
+        return snapshot().forSampleType(sampleType);
+    }
+
+    public TestParameter getByName(String name) {
+        return snapshot().find(name)
+                .orElseThrow(() -> new RuntimeException("Test parameter not found with name: " + name));
+    }
+
+    /**
+     * Checks requested test parameters against the catalog and returns them with the catalog's
+     * spelling. Unknown names and parameters not offered for the sample type are rejected under
+     * {@code test-parameters.validation=STRICT} and only logged under WARN.
+     */
+    public List<String> validate(String sampleType, List<String> names) {
+        if (names == null || validation == Validation.OFF) {
+            return names;
+        }
+        Snapshot current = snapshot();
+        if (current.parameters().isEmpty()) {
+            return names;
+        }
+        List<String> canonical = new ArrayList<>(names.size());
+        Set<String> unknown = new LinkedHashSet<>();
+        Set<String> notApplicable = new LinkedHashSet<>();
+        for (String name : names) {
+            Optional<TestParameter> parameter = current.find(name);
+            if (parameter.isEmpty()) {
+                unknown.add(name);
+                canonical.add(name);
+                continue;
+            }
+            if (!current.isApplicable(name, sampleType)) {
+                notApplicable.add(parameter.get().getName());
+            }
+            canonical.add(parameter.get().getName());
+        }
+        if (unknown.isEmpty() && notApplicable.isEmpty()) {
+            return canonical;
+        }
+        StringBuilder problem = new StringBuilder();
+        if (!unknown.isEmpty()) {
+            problem.append("Unknown test parameters: ").append(String.join(", ", unknown));
+        }
+        if (!notApplicable.isEmpty()) {
+            if (problem.length() > 0) {
+                problem.append("; ");
+            }
+            problem.append("Not offered for sample type ").append(sampleType).append(": ")
+                    .append(String.join(", ", notApplicable));
+        }
+        rejectedValidations.increment();
+        if (validation == Validation.STRICT) {
+            throw new RuntimeException(problem.toString());
+        }
+        log.warn("Test parameter check failed (not enforced): {}", problem);
+        return canonical;
+    }
+
+    @Transactional
+    public TestParameter create(TestParameter parameter) {
+        if (testParameterRepository.existsByName(parameter.getName())) {
+            throw new RuntimeException("Test parameter already exists: " + parameter.getName());
+        }
+        if (parameter.getActive() == null) {
+            parameter.setActive(true);
+        }
+        TestParameter saved = testParameterRepository.save(parameter);
+        reloadAfterCommit();
+        return saved;
+    }
+
+    @Transactional
+    public TestParameter update(Long id, TestParameter details) {
+        TestParameter parameter = testParameterRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Test parameter not found with id: " + id));
+        if (details.getName() != null) parameter.setName(details.getName());
+        if (details.getUnit() != null) parameter.setUnit(details.getUnit());
+        if (details.getMethod() != null) parameter.setMethod(details.getMethod());
+        if (details.getDefaultPrice() != null) parameter.setDefaultPrice(details.getDefaultPrice());
+        if (details.getApplicableSampleTypes() != null) parameter.setApplicableSampleTypes(details.getApplicableSampleTypes());
+        if (details.getCategory() != null) parameter.setCategory(details.getCategory());
+        if (details.getActive() != null) parameter.setActive(details.getActive());
+        if (details.getDescription() != null) parameter.setDescription(details.getDescription());
+        if (details.getAccreditation() != null) parameter.setAccreditation(details.getAccreditation());
+        TestParameter saved = testParameterRepository.save(parameter);
+        reloadAfterCommit();
+        return saved;
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        TestParameter parameter = testParameterRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Test parameter not found with id: " + id));
+        parameter.setActive(false);
+        testParameterRepository.save(parameter);
+        reloadAfterCommit();
+    }
+
+    /** Loads the active catalog and publishes it as the new snapshot in one reference swap. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${test-parameters.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${test-parameters.catalog.refresh-interval-ms:300000}")
+    public synchronized Snapshot reload() {
+        List<TestParameter> active = readTransaction.execute(status -> testParameterRepository.findActiveWithSampleTypes());
+        Snapshot next = new Snapshot(active, snapshot.version() + 1);
+        snapshot = next;
+        reloads.increment();
+        log.debug("Loaded test parameter catalog v{} with {} parameters", next.version(), next.parameters().size());
+        eventPublisher.publishEvent(new TestParameterCatalogReloadedEvent(next));
+        return next;
+    }
+
+    private void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "test-parameter-catalog";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Snapshot current = snapshot;
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("version", current.version());
+        values.put("loadedAt", current.loadedAt());
+        values.put("parameters", current.parameters().size());
+        values.put("sampleTypes", current.sampleTypes().size());
+        values.put("reloads", reloads.sum());
+        values.put("validation", validation);
+        values.put("rejectedValidations", rejectedValidations.sum());
+        return values;
+    }
+}
@@ -0,0 +1,5 @@
+package com.lindel.lindel.service;
+
+/** Published after a new test parameter catalog snapshot has been swapped in. */
+public record TestParameterCatalogReloadedEvent(TestParameterCatalog.Snapshot snapshot) {
+}
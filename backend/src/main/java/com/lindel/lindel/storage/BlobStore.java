@@ -0,0 +1,31 @@
+package com.lindel.lindel.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+/**
+ * Content-addressed binary store. Blobs are keyed by the lowercase hex SHA-256
+ * of their bytes, so writing the same content twice stores it once.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams {@code content} into the store and returns its address.
+     * The stream is read to the end but not closed.
+     */
+    StoredBlob put(InputStream content, String contentType) throws IOException;
+
+    Optional<StoredBlob> stat(String hash) throws IOException;
+
+    /**
+     * Copies {@code count} bytes of the blob starting at {@code position} into {@code target}.
+     * Implementations should avoid staging the bytes on the heap.
+     */
+    long transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException;
+
+    static boolean isValidHash(String hash) {
+        return hash != null && hash.matches("[0-9a-f]{64}");
+    }
+}
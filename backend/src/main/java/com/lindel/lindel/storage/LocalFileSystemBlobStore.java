@@ -0,0 +1,128 @@
+package com.lindel.lindel.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Stores blobs under {@code blobstore.local.root} as {@code ab/cd/<sha256>}, with the
+ * content type in a {@code <sha256>.type} sidecar. Writes go to a temp file first and
+ * are moved into place atomically, so readers never see a partial blob.
+ */
+@Component
+@ConditionalOnProperty(name = "blobstore.type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalFileSystemBlobStore(@Value("${blobstore.local.root:./data/blobs}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        log.info("Local blob store at {}", this.root);
+    }
+
+    @Override
+    public StoredBlob put(InputStream content, String contentType) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                size = content.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String type = contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType;
+
+            Path target = blobPath(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.writeString(typePath(hash), type, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Another writer stored the same content first
+                }
+            }
+            return new StoredBlob(hash, size, readType(hash).orElse(type));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> stat(String hash) throws IOException {
+        if (!BlobStore.isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = blobPath(hash);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredBlob(hash, Files.size(path), readType(hash).orElse(DEFAULT_CONTENT_TYPE)));
+    }
+
+    @Override
+    public long transferTo(String hash, long position, long count, WritableByteChannel target) throws IOException {
+        if (!BlobStore.isValidHash(hash)) {
+            throw new IOException("Invalid blob hash: " + hash);
+        }
+        try (FileChannel channel = FileChannel.open(blobPath(hash), StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = channel.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            return transferred;
+        }
+    }
+
+    private Optional<String> readType(String hash) throws IOException {
+        Path typePath = typePath(hash);
+        return Files.exists(typePath)
+                ? Optional.of(Files.readString(typePath, StandardCharsets.UTF_8).trim())
+                : Optional.empty();
+    }
+
+    private Path blobPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path typePath(String hash) {
+        return blobPath(hash).resolveSibling(hash + ".type");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.lindel.lindel.storage;
+
+public record StoredBlob(String hash, long size, String contentType) {
+}
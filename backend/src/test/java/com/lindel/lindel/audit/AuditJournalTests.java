@@ -0,0 +1,131 @@
+package com.lindel.lindel.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditJournalTests {
+
+	private static final int SEGMENT_SIZE = 1 << 20;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void reopenContinuesAfterTheLastRecord() throws IOException {
+		AuditJournal journal = open();
+		journal.append(List.of(event("a"), event("b")));
+		JournalPosition written = journal.committedPosition();
+
+		AuditJournal reopened = open();
+		assertThat(reopened.committedPosition()).isEqualTo(written);
+
+		reopened.append(List.of(event("c")));
+		assertThat(details(reopened, 1)).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void truncatedTailRecordIsDiscarded() throws IOException {
+		AuditJournal journal = open();
+		journal.append(List.of(event("a"), event("b")));
+		JournalPosition good = journal.committedPosition();
+		// header of a record whose payload never made it to disk
+		writeInt(good.offset(), 200);
+		writeInt(good.offset() + Integer.BYTES, 0x1234);
+
+		AuditJournal recovered = open();
+
+		assertThat(recovered.committedPosition()).isEqualTo(good);
+		assertThat(readInt(good.offset())).isZero();
+		recovered.append(List.of(event("c")));
+		assertThat(details(recovered, 1)).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void recordFailingItsChecksumIsDiscardedWithEverythingAfterIt() throws IOException {
+		AuditJournal journal = open();
+		journal.append(List.of(event("a")));
+		JournalPosition afterFirst = journal.committedPosition();
+		journal.append(List.of(event("b")));
+		// flip a payload byte of the last record
+		int payloadOffset = afterFirst.offset() + AuditJournal.HEADER_SIZE;
+		ByteBuffer original = ByteBuffer.allocate(1);
+		try (FileChannel channel = FileChannel.open(segment(1), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel.read(original, payloadOffset);
+			channel.write(ByteBuffer.wrap(new byte[]{(byte) (original.get(0) ^ 0x5A)}), payloadOffset);
+		}
+
+		AuditJournal recovered = open();
+
+		assertThat(recovered.committedPosition()).isEqualTo(afterFirst);
+		assertThat(details(recovered, 1)).containsExactly("a");
+	}
+
+	@Test
+	void sealedTailSegmentMovesOnToTheNextOne() throws IOException {
+		AuditJournal journal = open();
+		journal.append(List.of(event("a")));
+		// crashed after writing the rollover marker, before the next segment existed
+		writeInt(journal.committedPosition().offset(), AuditJournal.ROLLOVER);
+
+		AuditJournal recovered = open();
+
+		assertThat(recovered.committedPosition()).isEqualTo(new JournalPosition(2, 0));
+		recovered.append(List.of(event("b")));
+		assertThat(details(recovered, 1)).containsExactly("a");
+		assertThat(details(recovered, 2)).containsExactly("b");
+	}
+
+	private AuditJournal open() throws IOException {
+		return new AuditJournal(dir.toString(), SEGMENT_SIZE, false);
+	}
+
+	private Path segment(long id) {
+		return dir.resolve(String.format("%020d%s", id, AuditJournal.SEGMENT_SUFFIX));
+	}
+
+	/** Details of every valid record in a segment, read the way the shipper reads them. */
+	private static List<String> details(AuditJournal journal, long segmentId) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(journal.segmentPath(segmentId), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		List<String> details = new ArrayList<>();
+		int offset = 0;
+		int length;
+		while ((length = AuditJournal.recordLength(buffer, offset)) > 0) {
+			details.add(AuditJournal.decode(buffer, offset, length).details());
+			offset += AuditJournal.HEADER_SIZE + length;
+		}
+		return details;
+	}
+
+	private void writeInt(int offset, int value) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment(1), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), offset);
+		}
+	}
+
+	private int readInt(int offset) throws IOException {
+		ByteBuffer value = ByteBuffer.allocate(Integer.BYTES);
+		try (FileChannel channel = FileChannel.open(segment(1), StandardOpenOption.READ)) {
+			channel.read(value, offset);
+		}
+		return value.getInt(0);
+	}
+
+	private static AuditEvent event(String details) {
+		return new AuditEvent("admin", "UPDATE", "Samples", details, null, AuditEvent.SUCCESS,
+				LocalDateTime.of(2026, 1, 1, 12, 0));
+	}
+}
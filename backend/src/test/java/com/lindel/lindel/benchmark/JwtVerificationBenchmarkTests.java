@@ -0,0 +1,73 @@
+package com.lindel.lindel.benchmark;
+
+import com.lindel.lindel.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares per-request JWT cost of the old filter path (key rebuilt and token parsed
+ * three times) with the single-parse, cached JwtUtil.verify. JMH is not part of the
+ * build, so this is a warmed-up nanoTime loop; run with
+ * {@code mvn test -Dbenchmark=true -Dtest=JwtVerificationBenchmarkTests}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerificationBenchmarkTests {
+
+	private static final String SECRET = "limsSecretKeyForJWTTokenGenerationMustBeLongEnoughForHS512Algorithm";
+	private static final int WARMUP = 5_000;
+	private static final int ITERATIONS = 20_000;
+
+	private static volatile boolean sink;
+
+	private final JwtUtil jwtUtil = new JwtUtil(SECRET, 86_400_000L, 10_000);
+	private final String token = jwtUtil.generateToken("chemist1", "CHEMIST");
+
+	@Test
+	void filterCostBeforeAndAfter() {
+		double before = nanosPerOp(this::legacyFilterPath);
+		double uncached = nanosPerOp(() -> new JwtUtil(SECRET, 86_400_000L, 10_000).verify(token).isPresent());
+		double after = nanosPerOp(() -> jwtUtil.verify(token).isPresent());
+
+		System.out.printf("legacy (3 parses, key per call): %10.0f ns/op%n", before);
+		System.out.printf("single parse, new parser/cache:  %10.0f ns/op%n", uncached);
+		System.out.printf("single parse, cached:            %10.0f ns/op%n", after);
+		assertThat(after).isLessThan(before);
+	}
+
+	/** Mirrors the previous filter: extractUsername, then validateToken re-extracting username and expiry. */
+	private boolean legacyFilterPath() {
+		String username = legacyClaims().getSubject();
+		String again = legacyClaims().getSubject();
+		Date expiration = legacyClaims().getExpiration();
+		return username.equals(again) && expiration.after(new Date());
+	}
+
+	private Claims legacyClaims() {
+		Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+	}
+
+	private static double nanosPerOp(BooleanSupplier op) {
+		boolean result = false;
+		for (int i = 0; i < WARMUP; i++) {
+			result ^= op.getAsBoolean();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			result ^= op.getAsBoolean();
+		}
+		long elapsed = System.nanoTime() - start;
+		sink = result;
+		return (double) elapsed / ITERATIONS;
+	}
+}
@@ -0,0 +1,84 @@
+package com.lindel.lindel.benchmark;
+
+import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.entity.Sample;
+import com.lindel.lindel.service.CRFService;
+import com.lindel.lindel.service.SampleBulkService;
+import com.lindel.lindel.service.SampleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares assigning a CRF's samples one call at a time with a single bulk assign against the
+ * configured PostgreSQL database.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=SampleBulkBenchmarkTests}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SampleBulkBenchmarkTests {
+
+	private static final int[] SAMPLE_COUNTS = {10, 200, 2000};
+	private static final int ROUNDS = 3;
+	private static final String CHEMIST = "Benchmark Chemist";
+
+	@Autowired
+	private CRFService crfService;
+
+	@Autowired
+	private SampleService sampleService;
+
+	@Autowired
+	private SampleBulkService sampleBulkService;
+
+	@Test
+	void bulkAssignVersusPerItem() {
+		// Warm up connection pool, statement caches and the document number allocator
+		runRound(100, false);
+		runRound(100, true);
+
+		for (int count : SAMPLE_COUNTS) {
+			long perItem = Long.MAX_VALUE;
+			long bulk = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				perItem = Math.min(perItem, runRound(count, false));
+				bulk = Math.min(bulk, runRound(count, true));
+			}
+			System.out.printf("samples=%5d  per-item=%9.2f ms  bulk=%8.2f ms  speedup=%6.1fx%n",
+					count, perItem / 1_000_000.0, bulk / 1_000_000.0, (double) perItem / bulk);
+		}
+	}
+
+	private long runRound(int count, boolean bulk) {
+		CRF crf = new CRF();
+		crf.setCrfType("CS");
+		crf.setCustomer("Benchmark Customer");
+		crf.setSampleType("Water");
+		crf.setNumberOfSamples(0);
+		crf.setPriority("Normal");
+		CRF saved = crfService.createCRF(crf);
+
+		List<Sample> drafts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			drafts.add(new Sample());
+		}
+		List<Long> ids = crfService.addSamples(saved.getId(), drafts).stream().map(Sample::getId).toList();
+
+		long start = System.nanoTime();
+		if (bulk) {
+			sampleBulkService.bulkAssign(ids, null, CHEMIST);
+		} else {
+			for (Long id : ids) {
+				sampleService.assignSample(id, CHEMIST);
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		crfService.deleteCRF(saved.getId());
+		return elapsed;
+	}
+}
@@ -0,0 +1,64 @@
+package com.lindel.lindel.benchmark;
+
+import com.lindel.lindel.entity.CRF;
+import com.lindel.lindel.entity.Sample;
+import com.lindel.lindel.service.CRFService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures batched sample insert throughput against the configured PostgreSQL database.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=SampleInsertBenchmarkTests}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SampleInsertBenchmarkTests {
+
+	private static final int[] SAMPLE_COUNTS = {10, 100, 1000};
+	private static final int ROUNDS = 5;
+
+	@Autowired
+	private CRFService crfService;
+
+	@Test
+	void bulkSampleInsertThroughput() {
+		// Warm up connection pool, sequences and the document number allocator
+		runRound(100);
+
+		for (int count : SAMPLE_COUNTS) {
+			long best = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				best = Math.min(best, runRound(count));
+			}
+			double millis = best / 1_000_000.0;
+			System.out.printf("samples=%5d  best=%8.2f ms  throughput=%10.0f samples/s%n",
+					count, millis, count / (millis / 1000.0));
+		}
+	}
+
+	private long runRound(int count) {
+		CRF crf = new CRF();
+		crf.setCrfType("CS");
+		crf.setCustomer("Benchmark Customer");
+		crf.setSampleType("Water");
+		crf.setNumberOfSamples(0);
+		crf.setPriority("Normal");
+		CRF saved = crfService.createCRF(crf);
+
+		List<Sample> drafts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			drafts.add(new Sample());
+		}
+		long start = System.nanoTime();
+		crfService.addSamples(saved.getId(), drafts);
+		long elapsed = System.nanoTime() - start;
+
+		crfService.deleteCRF(saved.getId());
+		return elapsed;
+	}
+}
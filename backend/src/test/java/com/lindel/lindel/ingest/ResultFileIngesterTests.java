@@ -0,0 +1,133 @@
+package com.lindel.lindel.ingest;
+
+import com.lindel.lindel.dto.BulkSampleResult;
+import com.lindel.lindel.entity.TestParameter;
+import com.lindel.lindel.service.SampleBulkService;
+import com.lindel.lindel.service.TestParameterCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResultFileIngesterTests {
+
+	@TempDir
+	Path dir;
+
+	private final List<Map<Long, Map<String, String>>> applied = new ArrayList<>();
+	private ResultFileIngester ingester;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		TestParameterCatalog.Snapshot snapshot = mock(TestParameterCatalog.Snapshot.class);
+		when(snapshot.find(anyString())).thenAnswer(invocation -> {
+			String name = invocation.getArgument(0);
+			return switch (name.trim().toLowerCase()) {
+				case "ph" -> Optional.of(parameter("pH"));
+				case "lead" -> Optional.of(parameter("Lead"));
+				default -> Optional.empty();
+			};
+		});
+		TestParameterCatalog catalog = mock(TestParameterCatalog.class);
+		when(catalog.snapshot()).thenReturn(snapshot);
+
+		SampleBulkService bulk = mock(SampleBulkService.class);
+		when(bulk.bulkUpdateTestValues(any())).thenAnswer(invocation -> {
+			Map<Long, Map<String, String>> values = invocation.getArgument(0);
+			applied.add(new LinkedHashMap<>(values));
+			return new BulkSampleResult("updateTestValues", values.size(), values.size(), 0, List.of());
+		});
+
+		for (String folder : List.of("inbox", "done", "error")) {
+			Files.createDirectories(dir.resolve(folder));
+		}
+		ingester = new ResultFileIngester(bulk, catalog, new SampleIds(),
+				dir.resolve("inbox").toString(), dir.resolve("done").toString(), dir.resolve("error").toString(),
+				1, 0, 100);
+	}
+
+	@Test
+	void valuePastTheLastHeaderColumnRejectsOnlyThatEntry() throws IOException {
+		Path file = write("wide.csv", """
+				sampleId,pH,Lead
+				S-1,7.1,0.02
+				S-2,6.9,,EXTRA
+				S-3,7.0
+				""");
+
+		ingester.ingest(file);
+
+		Path report = dir.resolve("done").resolve("wide.csv.report.txt");
+		assertThat(report).exists();
+		assertThat(Files.readString(report))
+				.contains("Outcome: DONE")
+				.contains("Results applied: 4")
+				.contains("Entries rejected: 1")
+				.contains("value in column 4 has no header");
+		assertThat(applied).containsExactly(
+				Map.of(1L, Map.of("pH", "7.1", "Lead", "0.02")),
+				Map.of(2L, Map.of("pH", "6.9")),
+				Map.of(3L, Map.of("pH", "7.0")));
+	}
+
+	@Test
+	void unknownParameterColumnIsRejectedPerEntry() throws IOException {
+		Path file = write("unknown.csv", """
+				sampleId,pH,Colour
+				S-1,7.1,red
+				""");
+
+		ingester.ingest(file);
+
+		assertThat(Files.readString(dir.resolve("done").resolve("unknown.csv.report.txt")))
+				.contains("Results applied: 1")
+				.contains("unknown test parameter 'Colour'");
+		assertThat(applied).containsExactly(Map.of(1L, Map.of("pH", "7.1")));
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(dir.resolve("inbox").resolve(name), content);
+	}
+
+	private static TestParameter parameter(String name) {
+		TestParameter parameter = new TestParameter();
+		parameter.setName(name);
+		return parameter;
+	}
+
+	/** Answers the sampleId lookup with S-n -> n. */
+	private static final class SampleIds extends JdbcTemplate {
+
+		@Override
+		public void query(String sql, RowCallbackHandler handler, Object... args) {
+			for (String sampleId : (String[]) args[0]) {
+				ResultSet row = mock(ResultSet.class);
+				try {
+					when(row.getString(1)).thenReturn(sampleId);
+					when(row.getLong(2)).thenReturn(Long.parseLong(sampleId.substring("S-".length())));
+					handler.processRow(row);
+				} catch (SQLException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.service.DocumentNumberAllocator.DocumentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DocumentNumberAllocatorTests {
+
+	private final SequenceTable sequences = new SequenceTable();
+
+	@Test
+	void firstReservationSeedsFromTheHighestStoredNumber() {
+		sequences.maximum = 57L;
+		DocumentNumberAllocator allocator = allocator(20);
+
+		assertThat(allocator.next(DocumentType.CRF, "CRF/26/")).isEqualTo(58);
+		assertThat(allocator.next(DocumentType.CRF, "CRF/26/")).isEqualTo(59);
+		assertThat(sequences.seeds).containsExactly("CRF/26/=57");
+		assertThat(sequences.rows).containsEntry("CRF/26/", 77L);
+		assertThat(sequences.maximumPatterns).containsExactly("^CRF/26/([0-9]+)$");
+	}
+
+	@Test
+	void emptyTableSeedsAtZeroAndRegexCharactersInPrefixesAreEscaped() {
+		DocumentNumberAllocator allocator = allocator(5);
+
+		assertThat(allocator.next(DocumentType.REQUEST, "REQ-")).isEqualTo(1);
+		assertThat(allocator.next(DocumentType.SAMPLE, "S.26+")).isEqualTo(1);
+		assertThat(sequences.maximumPatterns).containsExactly("^REQ-([0-9]+)$", "^S\\.26\\+([0-9]+)$");
+	}
+
+	@Test
+	void existingRowIsNotReseeded() {
+		sequences.rows.put("QTN-", 100L);
+		sequences.maximum = 5L;
+
+		assertThat(allocator(10).next(DocumentType.QUOTATION, "QTN-")).isEqualTo(101);
+		assertThat(sequences.seeds).isEmpty();
+	}
+
+	@Test
+	void exhaustedBlockRollsOverToTheNextReservation() {
+		DocumentNumberAllocator allocator = allocator(3);
+
+		List<Long> numbers = IntStream.range(0, 7).mapToObj(i -> allocator.next(DocumentType.REQUEST, "REQ-")).toList();
+
+		assertThat(numbers).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+		assertThat(sequences.reservations).isEqualTo(3);
+		assertThat(sequences.rows).containsEntry("REQ-", 9L);
+	}
+
+	@Test
+	void rangeThatDoesNotFitDiscardsTheTailAndStaysConsecutive() {
+		DocumentNumberAllocator allocator = allocator(5);
+
+		assertThat(allocator.next(DocumentType.SAMPLE, "26-")).isEqualTo(1);
+		// 2..5 are left, so a range of 6 takes a fresh block of its own size
+		assertThat(allocator.nextRange(DocumentType.SAMPLE, "26-", 6)).isEqualTo(6);
+		assertThat(allocator.next(DocumentType.SAMPLE, "26-")).isEqualTo(12);
+		assertThat(sequences.reservations).isEqualTo(3);
+	}
+
+	@Test
+	void prefixesHaveIndependentBlocks() {
+		DocumentNumberAllocator allocator = allocator(10);
+
+		assertThat(allocator.next(DocumentType.CRF, "CRF/26/")).isEqualTo(1);
+		assertThat(allocator.next(DocumentType.REQUEST, "REQ-")).isEqualTo(1);
+		assertThat(allocator.next(DocumentType.CRF, "CRF/26/")).isEqualTo(2);
+	}
+
+	private DocumentNumberAllocator allocator(int blockSize) {
+		return new DocumentNumberAllocator(sequences, mock(PlatformTransactionManager.class), blockSize);
+	}
+
+	/** In-memory document_sequences table answering the allocator's three statements. */
+	private static final class SequenceTable extends JdbcTemplate {
+
+		private final Map<String, Long> rows = new HashMap<>();
+		private final List<String> seeds = new ArrayList<>();
+		private final List<String> maximumPatterns = new ArrayList<>();
+		private Long maximum;
+		private int reservations;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+			if (sql.startsWith("UPDATE document_sequences")) {
+				String key = (String) args[1];
+				if (!rows.containsKey(key)) {
+					throw new EmptyResultDataAccessException(1);
+				}
+				reservations++;
+				return (T) rows.merge(key, (Long) args[0], Long::sum);
+			}
+			if (sql.startsWith("SELECT MAX(")) {
+				maximumPatterns.add((String) args[0]);
+				return (T) maximum;
+			}
+			throw new UnsupportedOperationException(sql);
+		}
+
+		@Override
+		public int update(String sql, Object... args) {
+			if (!sql.startsWith("INSERT INTO document_sequences")) {
+				throw new UnsupportedOperationException(sql);
+			}
+			String key = (String) args[0];
+			if (rows.putIfAbsent(key, (Long) args[1]) != null) {
+				return 0;
+			}
+			seeds.add(key + "=" + args[1]);
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.lindel.lindel.service;
+
+import com.lindel.lindel.entity.PriceList;
+import com.lindel.lindel.repository.PriceListRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceIndexTests {
+
+	private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+	private static final LocalDate MAR_1 = LocalDate.of(2026, 3, 1);
+
+	@Test
+	void sameDayListsCollapseToTheLaterPublished() {
+		PriceList earlier = priceList(1L, null, JAN_1, JAN_1.atTime(9, 0), "pH", "10.00");
+		PriceList later = priceList(2L, null, JAN_1, JAN_1.atTime(15, 0), "pH", "12.50");
+
+		// input order must not matter, only publication time
+		for (List<PriceList> published : List.of(List.of(earlier, later), List.of(later, earlier))) {
+			PriceIndex index = build(published);
+
+			assertThat(index.resolve("pH", null, JAN_1)).isEqualByComparingTo("12.50");
+			assertThat(index.resolve("ph", null, MAR_1)).isEqualByComparingTo("12.50");
+			assertThat(index.timelineCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void customerFallsBackToStandardBeforeItsOwnListIsEffective() {
+		PriceIndex index = build(List.of(
+				priceList(1L, null, JAN_1, JAN_1.atStartOfDay(), "Lead", "40.00"),
+				priceList(2L, "Acme Foods", MAR_1, JAN_1.atStartOfDay(), "Lead", "35.00")));
+
+		assertThat(index.resolve("Lead", "Acme Foods", MAR_1.minusDays(1))).isEqualByComparingTo("40.00");
+		assertThat(index.resolve("Lead", "acme foods ", MAR_1)).isEqualByComparingTo("35.00");
+		assertThat(index.resolve("Lead", "Other Customer", MAR_1)).isEqualByComparingTo("40.00");
+		assertThat(index.resolve("Lead", null, MAR_1)).isEqualByComparingTo("40.00");
+	}
+
+	@Test
+	void noPriceBeforeTheFirstEffectiveDate() {
+		PriceIndex index = build(List.of(priceList(1L, null, MAR_1, MAR_1.atStartOfDay(), "Lead", "40.00")));
+
+		assertThat(index.resolve("Lead", null, MAR_1.minusDays(1))).isNull();
+		assertThat(index.resolve("Lead", "Acme Foods", JAN_1)).isNull();
+		assertThat(index.resolve("Arsenic", null, MAR_1)).isNull();
+		assertThat(index.resolve(null, null, MAR_1)).isNull();
+	}
+
+	@Test
+	void withdrawnListDropsOutOnRebuild() {
+		PriceList standard = priceList(1L, null, JAN_1, JAN_1.atStartOfDay(), "Lead", "40.00");
+		PriceList override = priceList(2L, null, MAR_1, MAR_1.atStartOfDay(), "Lead", "45.00");
+		PriceListRepository repository = mock(PriceListRepository.class);
+		TestParameterCatalog catalog = mock(TestParameterCatalog.class);
+		when(catalog.snapshot()).thenReturn(TestParameterCatalog.Snapshot.EMPTY);
+		QuotationPricingEngine engine = new QuotationPricingEngine(catalog, repository,
+				mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class), new BigDecimal("0.10"));
+
+		when(repository.findPublishedWithPrices()).thenReturn(List.of(standard, override));
+		assertThat(engine.onPriceListsChanged(List.of("Lead")).resolve("Lead", null, MAR_1))
+				.isEqualByComparingTo("45.00");
+
+		// only published lists are loaded, so a withdrawn one is simply absent from the next build
+		when(repository.findPublishedWithPrices()).thenReturn(List.of(standard));
+		assertThat(engine.onPriceListsChanged(List.of("Lead")).resolve("Lead", null, MAR_1))
+				.isEqualByComparingTo("40.00");
+
+		when(repository.findPublishedWithPrices()).thenReturn(List.of());
+		assertThat(engine.onPriceListsChanged(List.of("Lead")).resolve("Lead", null, MAR_1)).isNull();
+	}
+
+	private static PriceIndex build(List<PriceList> published) {
+		return PriceIndex.build(TestParameterCatalog.Snapshot.EMPTY, published, 1);
+	}
+
+	private static PriceList priceList(Long id, String customer, LocalDate effectiveFrom, LocalDateTime publishedAt,
+									   String parameter, String price) {
+		PriceList list = new PriceList();
+		list.setId(id);
+		list.setName("List " + id);
+		list.setCustomer(customer);
+		list.setEffectiveFrom(effectiveFrom);
+		list.setPublishedAt(publishedAt);
+		list.setStatus("published");
+		Map<String, BigDecimal> prices = new HashMap<>();
+		prices.put(parameter, new BigDecimal(price));
+		list.setPrices(prices);
+		return list;
+	}
+}
@@ -0,0 +1,36 @@
+import React, { useEffect, useState } from 'react';
+import { fetchBlobUrl } from '../services/api';
+
+interface BlobImageProps extends Omit<React.ImgHTMLAttributes<HTMLImageElement>, 'src'> {
+    reference?: string;
+}
+
+/** An image stored as a blob reference, loaded with the user's token. */
+export const BlobImage: React.FC<BlobImageProps> = ({ reference, ...props }) => {
+    const [src, setSrc] = useState<string>();
+
+    useEffect(() => {
+        let cancelled = false;
+        let objectUrl: string | undefined;
+        fetchBlobUrl(reference)
+            .then((url) => {
+                if (url?.startsWith('blob:')) {
+                    objectUrl = url;
+                }
+                if (cancelled) {
+                    if (objectUrl) URL.revokeObjectURL(objectUrl);
+                    return;
+                }
+                setSrc(url);
+            })
+            .catch(() => {
+                if (!cancelled) setSrc(undefined);
+            });
+        return () => {
+            cancelled = true;
+            if (objectUrl) URL.revokeObjectURL(objectUrl);
+        };
+    }, [reference]);
+
+    return src ? <img src={src} {...props} /> : null;
+};
@@ -1,5 +1,6 @@
 import React, { useRef, useEffect, useState } from 'react';
 import { Button } from './ui/Button';
+import { fetchBlobUrl } from '../services/api';
 
 interface SignatureCanvasProps {
     onSave: (signature: string) => void;
@@ -14,11 +15,19 @@ export const SignatureCanvas: React.FC<SignatureCanvasProps> = ({ onSave, savedS
         const canvas = canvasRef.current;
         if (canvas && savedSignature) {
             const ctx = canvas.getContext('2d');
-            const img = new Image();
-            img.onload = () => {
-                ctx?.drawImage(img, 0, 0);
+            let cancelled = false;
+            fetchBlobUrl(savedSignature).then((url) => {
+                if (!url) return;
+                const img = new Image();
+                img.onload = () => {
+                    if (!cancelled) ctx?.drawImage(img, 0, 0);
+                    if (url.startsWith('blob:')) URL.revokeObjectURL(url);
+                };
+                img.src = url;
+            }).catch(() => undefined);
+            return () => {
+                cancelled = true;
             };
-            img.src = savedSignature;
         }
     }, [savedSignature]);
 
@@ -1,141 +1,58 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { Card } from '../components/ui/Card';
 import { Select } from '../components/ui/Select';
 import { Table, TableHeader, TableBody, TableRow, TableHead, TableCell } from '../components/ui/Table';
 import { Search, Download } from 'lucide-react';
 import { Button } from '../components/ui/Button';
+import auditService from '../services/auditService';
+import type { AuditLogEntry } from '../services/auditService';
 
-interface AuditLog {
-    id: string;
-    timestamp: string;
-    user: string;
-    action: string;
-    module: string;
-    details: string;
-    ipAddress: string;
-    status: 'Success' | 'Failed' | 'Warning';
-}
-
-const mockAuditLogs: AuditLog[] = [
-    {
-        id: 'LOG-001',
-        timestamp: '2026-02-18 10:32:15',
-        user: 'D.H.S. Costa',
-        action: 'Data Entry Completed',
-        module: 'Data Entry',
-        details: 'Completed test data entry for CRF-001 (5 parameters)',
-        ipAddress: '192.168.1.105',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-002',
-        timestamp: '2026-02-18 10:15:42',
-        user: 'S.A.A.G. Senarathna',
-        action: 'CRF Created',
-        module: 'CRF',
-        details: 'Created new CRF CRF-005 for customer Edinburgh Products',
-        ipAddress: '192.168.1.102',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-003',
-        timestamp: '2026-02-18 09:58:23',
-        user: 'K.M. Perera',
-        action: 'Report Generated',
-        module: 'Report Generation',
-        details: 'Generated final report for CRF-003',
-        ipAddress: '192.168.1.108',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-004',
-        timestamp: '2026-02-18 09:45:10',
-        user: 'Admin',
-        action: 'User Login',
-        module: 'Authentication',
-        details: 'Successful login',
-        ipAddress: '192.168.1.100',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-005',
-        timestamp: '2026-02-18 09:30:55',
-        user: 'A.B. Jayawardena',
-        action: 'CRF Status Changed',
-        module: 'CRF',
-        details: 'Changed CRF-002 status from Draft to Submitted',
-        ipAddress: '192.168.1.103',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-006',
-        timestamp: '2026-02-18 09:18:37',
-        user: 'Unknown',
-        action: 'Failed Login Attempt',
-        module: 'Authentication',
-        details: 'Failed login attempt with username: testuser',
-        ipAddress: '192.168.1.200',
-        status: 'Failed'
-    },
-    {
-        id: 'LOG-007',
-        timestamp: '2026-02-18 09:05:12',
-        user: 'R.P. Silva',
-        action: 'Parameter Assigned',
-        module: 'Parameter Assignment',
-        details: 'Assigned parameters to CRF-004 samples',
-        ipAddress: '192.168.1.106',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-008',
-        timestamp: '2026-02-18 08:52:48',
-        user: 'N.T. Fernando',
-        action: 'Review Completed',
-        module: 'Review & Sign',
-        details: 'Reviewed and approved CRF-001',
-        ipAddress: '192.168.1.107',
-        status: 'Success'
-    },
-    {
-        id: 'LOG-009',
-        timestamp: '2026-02-18 08:40:20',
-        user: 'D.H.S. Costa',
-        action: 'Data Modification',
-        module: 'Data Entry',
-        details: 'Modified test results for Sample CS/25/887',
-        ipAddress: '192.168.1.105',
-        status: 'Warning'
-    },
-    {
-        id: 'LOG-010',
-        timestamp: '2026-02-18 08:25:33',
-        user: 'S.A.A.G. Senarathna',
-        action: 'Quotation Created',
-        module: 'Quotation',
-        details: 'Created quotation QT-2026-015 for Green Valley Industries',
-        ipAddress: '192.168.1.102',
-        status: 'Success'
-    },
-];
+const PAGE_SIZE = 50;
 
 export const AuditLogPage: React.FC = () => {
     const [searchTerm, setSearchTerm] = useState('');
     const [filterModule, setFilterModule] = useState('All');
     const [filterStatus, setFilterStatus] = useState('All');
+    const [logs, setLogs] = useState<AuditLogEntry[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loading, setLoading] = useState(false);
+    const [error, setError] = useState<string | null>(null);
+
+    const modules = ['All', 'Auth', 'CRF', 'Sample', 'Request', 'Quotation'];
+    const statuses = ['All', 'Success', 'Failed'];
+
+    // Module and status are filtered server-side; each page continues from the previous cursor
+    const loadPage = async (cursor?: string) => {
+        setLoading(true);
+        setError(null);
+        try {
+            const page = await auditService.getPage({
+                limit: PAGE_SIZE,
+                cursor,
+                module: filterModule === 'All' ? undefined : filterModule,
+                status: filterStatus === 'All' ? undefined : filterStatus,
+            });
+            setLogs(prev => (cursor ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            console.error('Error loading audit logs:', err);
+            setError('Failed to load audit logs');
+        } finally {
+            setLoading(false);
+        }
+    };
 
-    const modules = ['All', 'Authentication', 'CRF', 'Data Entry', 'Parameter Assignment', 'Review & Sign', 'Report Generation', 'Quotation'];
-    const statuses = ['All', 'Success', 'Failed', 'Warning'];
+    useEffect(() => {
+        loadPage();
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [filterModule, filterStatus]);
 
-    const filteredLogs = mockAuditLogs.filter(log => {
-        const matchesSearch = log.user.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                            log.action.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                            log.details.toLowerCase().includes(searchTerm.toLowerCase());
-        const matchesModule = filterModule === 'All' || log.module === filterModule;
-        const matchesStatus = filterStatus === 'All' || log.status === filterStatus;
-        
-        return matchesSearch && matchesModule && matchesStatus;
-    });
+    const term = searchTerm.toLowerCase();
+    const filteredLogs = logs.filter(log =>
+        log.username.toLowerCase().includes(term) ||
+        log.action.toLowerCase().includes(term) ||
+        (log.details ?? '').toLowerCase().includes(term)
+    );
 
     const getStatusBadge = (status: string) => {
         const colors = {
@@ -197,20 +114,20 @@ export const AuditLogPage: React.FC = () => {
             {/* Summary Stats */}
             <div className="grid grid-cols-1 md:grid-cols-4 gap-6 mb-6">
                 <Card>
-                    <p className="text-sm text-gray-600 mb-1">Total Activities</p>
-                    <p className="text-2xl font-bold text-gray-800">{mockAuditLogs.length}</p>
+                    <p className="text-sm text-gray-600 mb-1">Loaded Activities</p>
+                    <p className="text-2xl font-bold text-gray-800">{logs.length}</p>
                 </Card>
                 <Card>
                     <p className="text-sm text-gray-600 mb-1">Successful</p>
-                    <p className="text-2xl font-bold text-green-600">{mockAuditLogs.filter(l => l.status === 'Success').length}</p>
+                    <p className="text-2xl font-bold text-green-600">{logs.filter(l => l.status === 'Success').length}</p>
                 </Card>
                 <Card>
                     <p className="text-sm text-gray-600 mb-1">Failed</p>
-                    <p className="text-2xl font-bold text-red-600">{mockAuditLogs.filter(l => l.status === 'Failed').length}</p>
+                    <p className="text-2xl font-bold text-red-600">{logs.filter(l => l.status === 'Failed').length}</p>
                 </Card>
                 <Card>
                     <p className="text-sm text-gray-600 mb-1">Warnings</p>
-                    <p className="text-2xl font-bold text-yellow-600">{mockAuditLogs.filter(l => l.status === 'Warning').length}</p>
+                    <p className="text-2xl font-bold text-yellow-600">{logs.filter(l => l.status === 'Warning').length}</p>
                 </Card>
             </div>
 
@@ -233,8 +150,8 @@ export const AuditLogPage: React.FC = () => {
                             {filteredLogs.length > 0 ? (
                                 filteredLogs.map(log => (
                                     <TableRow key={log.id}>
-                                        <TableCell className="text-sm font-mono">{log.timestamp}</TableCell>
-                                        <TableCell className="font-medium">{log.user}</TableCell>
+                                        <TableCell className="text-sm font-mono">{log.timestamp.replace('T', ' ').slice(0, 19)}</TableCell>
+                                        <TableCell className="font-medium">{log.username}</TableCell>
                                         <TableCell>{log.action}</TableCell>
                                         <TableCell>
                                             <span className="px-2 py-1 bg-blue-50 text-blue-700 rounded text-xs font-medium">
@@ -251,13 +168,22 @@ export const AuditLogPage: React.FC = () => {
                             ) : (
                                 <TableRow>
                                     <TableCell className="text-center text-gray-500 py-8">
-                                        <div className="col-span-7">No audit logs found matching your filters</div>
+                                        <div className="col-span-7">
+                                            {loading ? 'Loading audit logs...' : error ?? 'No audit logs found matching your filters'}
+                                        </div>
                                     </TableCell>
                                 </TableRow>
                             )}
                         </TableBody>
                     </Table>
                 </div>
+                {nextCursor && (
+                    <div className="flex justify-center mt-4">
+                        <Button onClick={() => loadPage(nextCursor)} variant="secondary" disabled={loading}>
+                            {loading ? 'Loading...' : 'Load More'}
+                        </Button>
+                    </div>
+                )}
             </Card>
         </div>
     );
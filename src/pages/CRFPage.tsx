@@ -7,6 +7,7 @@ import { Select } from '../components/ui/Select';
 import { SignatureCanvas } from '../components/SignatureCanvas';
 import { Table, TableHeader, TableBody, TableRow, TableHead, TableCell } from '../components/ui/Table';
 import { crfService, quotationService, type CRF, type Quotation } from '../services';
+import { BlobImage } from '../components/BlobImage';
 import { mockCustomers, sampleTypes, sampleTypeConfigs, priorities } from '../data/mockData';
 import { Edit, Eye, Camera, Plus } from 'lucide-react';
 import jsPDF from 'jspdf';
@@ -533,7 +534,7 @@ export const CRFPage: React.FC = () => {
                                 <p className="text-sm font-bold text-gray-900 mb-4">Received By (Laboratory):</p>
                                 {selectedCRF.signature && (
                                     <div className="mb-2">
-                                        <img src={selectedCRF.signature} alt="Signature" className="h-16 w-auto border-b-2 border-gray-900" />
+                                        <BlobImage reference={selectedCRF.signature} alt="Signature" className="h-16 w-auto border-b-2 border-gray-900" />
                                     </div>
                                 )}
                                 <div className="border-t-2 border-gray-900 pt-2 mt-2">
@@ -818,7 +819,7 @@ export const CRFPage: React.FC = () => {
                                     <div className="mt-3 grid grid-cols-4 gap-3">
                                         {formData.sampleImages.map((img, idx) => (
                                             <div key={idx} className="relative">
-                                                <img src={img} alt={`Sample ${idx + 1}`} className="w-full h-24 object-cover rounded border" />
+                                                <BlobImage reference={img} alt={`Sample ${idx + 1}`} className="w-full h-24 object-cover rounded border" />
                                                 <button
                                                     type="button"
                                                     onClick={() => handleRemoveImage(idx)}
@@ -4,27 +4,25 @@ import { WorkflowTimeline } from '../components/WorkflowTimeline';
 import { SampleCollectionCalendar } from '../components/SampleCollectionCalendar';
 import { useWorkflow } from '../context/WorkflowContext';
 import { FileText, FlaskConical, CheckCircle, Clock, TrendingUp, Users, AlertTriangle } from 'lucide-react';
-import { mockPendingTasks, mockChemistWorkload, mockMonthlyStats } from '../data/mockData';
-import crfService, { type CRF } from '../services/crfService';
-import sampleService, { type Sample } from '../services/sampleService';
+import { mockMonthlyStats } from '../data/mockData';
+import dashboardService, { type DashboardSnapshot } from '../services/dashboardService';
+
+// The server shares one snapshot between viewers, so polling it is cheap
+const REFRESH_INTERVAL_MS = 30000;
 
 export const Dashboard: React.FC = () => {
     const workflow = useWorkflow();
-    const [crfs, setCrfs] = useState<CRF[]>([]);
-    const [samples, setSamples] = useState<Sample[]>([]);
+    const [snapshot, setSnapshot] = useState<DashboardSnapshot | null>(null);
 
     useEffect(() => {
         loadDashboardData();
+        const timer = setInterval(loadDashboardData, REFRESH_INTERVAL_MS);
+        return () => clearInterval(timer);
     }, []);
 
     const loadDashboardData = async () => {
         try {
-            const [crfsData, samplesData] = await Promise.all([
-                crfService.getAll(),
-                sampleService.getAll(),
-            ]);
-            setCrfs(crfsData);
-            setSamples(samplesData);
+            setSnapshot(await dashboardService.getSnapshot());
         } catch (error) {
             console.error('Failed to load dashboard data:', error);
         }
@@ -33,19 +31,23 @@ export const Dashboard: React.FC = () => {
     const confirmedRequests = workflow.getConfirmedRequests();
     const pendingRequests = workflow.requests.filter(r => r.status === 'pending');
     
-    // Calculate overdue and at-risk tasks
-    const overdueTasks = mockPendingTasks.filter(t => t.status === 'Overdue');
-    const atRiskTasks = mockPendingTasks.filter(t => t.status === 'At Risk');
-    const onTrackTasks = mockPendingTasks.filter(t => t.status === 'On Track');
+    // Overdue and at-risk counts cover every open CRF, not only the listed ones
+    const pendingTasks = snapshot?.pendingTasks ?? [];
+    const chemistWorkload = snapshot?.chemistLoad ?? [];
+    const overdueCount = snapshot?.overdueCount ?? 0;
+    const atRiskCount = snapshot?.atRiskCount ?? 0;
+    const onTrackCount = (snapshot?.openCrfs ?? 0) - overdueCount - atRiskCount;
 
-    // Use real CRF data for stats
-    const activeSamples = samples?.filter(s => s.status === 'testing').length || 0;
-    const pendingReview = crfs?.filter(c => c.status === 'review').length || 0;
+    // Use real CRF and sample counts for stats
+    const crfCounts = snapshot?.statusCounts.crf ?? {};
+    const totalCrfs = Object.values(crfCounts).reduce((sum, count) => sum + count, 0);
+    const activeSamples = snapshot?.statusCounts.samples.testing ?? 0;
+    const pendingReview = crfCounts.review ?? 0;
 
     const stats = [
         {
             title: 'Total CRFs',
-            value: (crfs?.length || 0).toString(),
+            value: totalCrfs.toString(),
             icon: FileText,
             color: 'bg-primary-light',
             iconColor: 'text-primary-500',
@@ -69,7 +71,7 @@ export const Dashboard: React.FC = () => {
         },
         {
             title: 'Overdue Tasks',
-            value: overdueTasks.length.toString(),
+            value: overdueCount.toString(),
             icon: AlertTriangle,
             color: 'bg-status-error/10',
             iconColor: 'text-status-error',
@@ -169,7 +171,7 @@ export const Dashboard: React.FC = () => {
                         <Users size={20} className="text-primary-600" />
                     </div>
                     <div className="space-y-4">
-                        {mockChemistWorkload.slice(0, 5).map((chemist) => (
+                        {chemistWorkload.slice(0, 5).map((chemist) => (
                             <div key={chemist.chemistId}>
                                 <div className="flex justify-between text-sm mb-1">
                                     <span className="font-medium text-gray-700">{chemist.chemistName}</span>
@@ -202,7 +204,7 @@ export const Dashboard: React.FC = () => {
                         <div className="flex justify-between text-sm">
                             <span className="text-gray-600">Total Active Tasks:</span>
                             <span className="font-semibold text-gray-800">
-                                {mockChemistWorkload.reduce((sum, c) => sum + c.activeTasks, 0)}
+                                {chemistWorkload.reduce((sum, c) => sum + c.activeTasks, 0)}
                             </span>
                         </div>
                     </div>
@@ -215,19 +217,19 @@ export const Dashboard: React.FC = () => {
                     <h3 className="text-lg font-semibold text-gray-800">Pending Tasks & Due Dates</h3>
                     <div className="flex gap-2 text-xs">
                         <span className="px-2 py-1 bg-red-100 text-red-700 rounded font-medium">
-                            {overdueTasks.length} Overdue
+                            {overdueCount} Overdue
                         </span>
                         <span className="px-2 py-1 bg-yellow-100 text-yellow-700 rounded font-medium">
-                            {atRiskTasks.length} At Risk
+                            {atRiskCount} At Risk
                         </span>
                         <span className="px-2 py-1 bg-green-100 text-green-700 rounded font-medium">
-                            {onTrackTasks.length} On Track
+                            {onTrackCount} On Track
                         </span>
                     </div>
                 </div>
                 <div className="space-y-3">
-                    {mockPendingTasks.map((task) => {
-                        const dueDate = new Date(task.dueDate);
+                    {pendingTasks.map((task) => {
+                        const dueDate = task.dueDate ? new Date(task.dueDate) : new Date();
                         const today = new Date();
                         const daysUntilDue = Math.ceil((dueDate.getTime() - today.getTime()) / (1000 * 60 * 60 * 24));
                         
@@ -259,7 +261,7 @@ export const Dashboard: React.FC = () => {
                                                 {task.sampleType}
                                             </span>
                                             <span>• {task.taskType}</span>
-                                            <span>• Assigned to: {task.assignedTo}</span>
+                                            <span>• Assigned to: {task.assignedTo ?? 'Unassigned'}</span>
                                         </div>
                                     </div>
                                     <div className="text-right">
@@ -348,7 +350,7 @@ export const Dashboard: React.FC = () => {
                         <div className="pt-3 mt-3 border-t border-gray-200">
                             <div className="flex justify-between items-center">
                                 <span className="text-sm text-gray-600">Active Chemists:</span>
-                                <span className="font-semibold text-gray-800">{mockChemistWorkload.length}</span>
+                                <span className="font-semibold text-gray-800">{chemistWorkload.length}</span>
                             </div>
                         </div>
                     </div>
@@ -105,14 +105,19 @@ export const DataEntryPage: React.FC = () => {
         }
 
         try {
-            // Update each sample with test values
+            // Save every sample's test values in one request
+            const testValues: Record<number, Record<string, string>> = {};
             for (const result of results) {
                 if (result.sampleNumericId) {
-                    await sampleService.updateTestValues(result.sampleNumericId, {
+                    testValues[result.sampleNumericId] = {
+                        ...testValues[result.sampleNumericId],
                         [result.parameter]: result.testValue
-                    });
+                    };
                 }
             }
+            if (Object.keys(testValues).length > 0) {
+                await sampleService.bulkUpdateTestValues(testValues);
+            }
 
             // Update CRF status to 'review'
             await crfService.updateStatus(parseInt(selectedCRFId), 'review');
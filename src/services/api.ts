@@ -38,4 +38,19 @@ apiClient.interceptors.response.use(
   }
 );
 
+// CRF signatures and images are stored as blob references (/api/blobs/<sha256>; older rows
+// still say /api/public/blobs/<sha256>). The endpoint needs the bearer token, so the bytes are
+// fetched through the client and shown via an object URL the caller must revoke.
+// Data URLs pass through unchanged.
+const BLOB_REFERENCE = /^\/api\/(?:public\/)?blobs\/([0-9a-fA-F]+)$/;
+
+export const fetchBlobUrl = async (ref?: string): Promise<string | undefined> => {
+  const match = ref?.match(BLOB_REFERENCE);
+  if (!match) {
+    return ref;
+  }
+  const response = await apiClient.get<Blob>(`/blobs/${match[1]}`, { responseType: 'blob' });
+  return URL.createObjectURL(response.data);
+};
+
 export default apiClient;
@@ -0,0 +1,35 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+import type { CursorPage } from './crfService';
+
+export interface AuditLogEntry {
+  id: number;
+  username: string;
+  action: string;
+  module: string;
+  details?: string;
+  ipAddress?: string;
+  status: 'Success' | 'Failed' | string;
+  timestamp: string;
+}
+
+export interface AuditLogQuery {
+  limit?: number;
+  cursor?: string;
+  username?: string;
+  module?: string;
+  action?: string;
+  status?: string;
+  // ISO local date-times; from is inclusive, to exclusive
+  from?: string;
+  to?: string;
+}
+
+const auditService = {
+  async getPage(query: AuditLogQuery): Promise<CursorPage<AuditLogEntry>> {
+    const response = await apiClient.get<ApiResponse<CursorPage<AuditLogEntry>>>('/audit', { params: query });
+    return response.data.data;
+  },
+};
+
+export default auditService;
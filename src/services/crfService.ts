@@ -27,12 +27,53 @@ export interface CRF {
   environmentalData?: string; // JSON string containing GPS, measurements, photos
 }
 
+export interface CRFSummary {
+  id: number;
+  crfId: string;
+  crfType: string;
+  customer: string;
+  contact?: string;
+  email?: string;
+  sampleType: string;
+  numberOfSamples: number;
+  samplingType?: string;
+  receptionDate: string;
+  receivedBy?: string;
+  priority: string;
+  status: string;
+  quotationRef?: string;
+  createdAt: string;
+  updatedAt?: string;
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+  limit: number;
+}
+
+export interface CRFPageQuery {
+  limit: number;
+  cursor?: string;
+  status?: string;
+  priority?: string;
+  sampleType?: string;
+  crfType?: string;
+  customer?: string;
+}
+
 const crfService = {
   async getAll(): Promise<CRF[]> {
     const response = await apiClient.get<ApiResponse<CRF[]>>('/crf');
     return response.data.data;
   },
 
+  async getPage(query: CRFPageQuery): Promise<CursorPage<CRFSummary>> {
+    const response = await apiClient.get<ApiResponse<CursorPage<CRFSummary>>>('/crf', { params: query });
+    return response.data.data;
+  },
+
   async getById(id: number): Promise<CRF> {
     const response = await apiClient.get<ApiResponse<CRF>>(`/crf/${id}`);
     return response.data.data;
@@ -0,0 +1,46 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+import type { AuditLogEntry } from './auditService';
+
+export interface DashboardTask {
+  id: number;
+  crfId: string;
+  customer: string;
+  sampleType: string;
+  taskType: 'Registration' | 'Testing' | 'Review';
+  assignedTo?: string;
+  dueDate?: string;
+  priority: string;
+  status: 'On Track' | 'At Risk' | 'Overdue';
+}
+
+export interface ChemistLoad {
+  chemistId: number;
+  chemistName: string;
+  activeTasks: number;
+  completedThisWeek: number;
+  pendingTests: number;
+  overdueTests: number;
+}
+
+export interface DashboardSnapshot {
+  // When the shared snapshot was built; it can be a few seconds old
+  generatedAt: string;
+  statusCounts: Record<'crf' | 'requests' | 'quotations' | 'samples', Record<string, number>>;
+  openCrfs: number;
+  overdueCount: number;
+  atRiskCount: number;
+  pendingTasks: DashboardTask[];
+  chemistLoad: ChemistLoad[];
+  // Empty unless the viewer is an admin
+  recentActivity: AuditLogEntry[];
+}
+
+const dashboardService = {
+  async getSnapshot(): Promise<DashboardSnapshot> {
+    const response = await apiClient.get<ApiResponse<DashboardSnapshot>>('/dashboard');
+    return response.data.data;
+  },
+};
+
+export default dashboardService;
@@ -0,0 +1,86 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+
+export interface EnvironmentalSampling {
+  id: number;
+  crfId: number;
+  mapType: string;
+  samplingPointsData: string;
+  mapImage?: string; // Blob reference, load with fetchBlobUrl or BlobImage
+  submittedBy?: string;
+  submittedAt?: string;
+}
+
+export interface UploadSessionStatus {
+  sessionId: string;
+  status: 'open' | 'completed' | 'aborted';
+  totalSize: number;
+  chunkSize: number;
+  totalChunks: number;
+  receivedChunks: number[];
+  missingChunks: number[];
+  environmentalSamplingId?: number;
+  expiresAt: string;
+}
+
+const sha256Hex = async (data: ArrayBuffer): Promise<string> => {
+  const digest = await crypto.subtle.digest('SHA-256', data);
+  return Array.from(new Uint8Array(digest)).map((b) => b.toString(16).padStart(2, '0')).join('');
+};
+
+const environmentalSamplingService = {
+  async getByCrfId(crfId: number): Promise<EnvironmentalSampling> {
+    const response = await apiClient.get<ApiResponse<EnvironmentalSampling>>(`/environmental-sampling/crf/${crfId}`);
+    return response.data.data;
+  },
+
+  async getUploadStatus(sessionId: string): Promise<UploadSessionStatus> {
+    const response = await apiClient.get<ApiResponse<UploadSessionStatus>>(`/environmental-sampling/uploads/${sessionId}`);
+    return response.data.data;
+  },
+
+  /**
+   * Uploads a map image in chunks and creates the sampling record. Pass the sessionId of an
+   * interrupted upload to resume it; only the chunks the server is missing are sent again.
+   */
+  async uploadMap(
+    file: File,
+    crfId: number,
+    mapType: string,
+    samplingPointsData: string,
+    submittedBy?: string,
+    sessionId?: string,
+    onProgress?: (sent: number, total: number) => void
+  ): Promise<EnvironmentalSampling> {
+    let session: UploadSessionStatus;
+    if (sessionId) {
+      session = await this.getUploadStatus(sessionId);
+    } else {
+      const response = await apiClient.post<ApiResponse<UploadSessionStatus>>('/environmental-sampling/uploads', {
+        crfId,
+        mapType,
+        fileName: file.name,
+        contentType: file.type,
+        totalSize: file.size,
+      });
+      session = response.data.data;
+    }
+
+    let sent = session.receivedChunks.length;
+    for (const index of session.missingChunks) {
+      const chunk = await file.slice(index * session.chunkSize, (index + 1) * session.chunkSize).arrayBuffer();
+      await apiClient.put(`/environmental-sampling/uploads/${session.sessionId}/chunks/${index}`, chunk, {
+        headers: { 'Content-Type': 'application/octet-stream', 'X-Chunk-SHA256': await sha256Hex(chunk) },
+      });
+      onProgress?.(++sent, session.totalChunks);
+    }
+
+    const response = await apiClient.post<ApiResponse<EnvironmentalSampling>>(
+      `/environmental-sampling/uploads/${session.sessionId}/complete`,
+      { samplingPointsData, submittedBy }
+    );
+    return response.data.data;
+  },
+};
+
+export default environmentalSamplingService;
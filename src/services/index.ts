@@ -6,12 +6,25 @@ export { default as requestService } from './requestService';
 export { default as quotationService } from './quotationService';
 export { default as sampleService } from './sampleService';
 export { default as chemistService } from './chemistService';
+export { default as environmentalSamplingService } from './environmentalSamplingService';
+export { default as auditService } from './auditService';
+export { default as statsService } from './statsService';
+export { default as dashboardService } from './dashboardService';
+export { default as testParameterService } from './testParameterService';
+export { default as priceListService } from './priceListService';
+export { default as searchService } from './searchService';
 
 // Export types
 export type { LoginRequest, LoginResponse, RegisterRequest, ApiResponse } from './authService';
 export type { CRF } from './crfService';
-export type { Request } from './requestService';
-export type { Quotation, QuotationItem } from './quotationService';
-export type { Sample } from './sampleService';
+export type { Request, RequestConversionOptions, RequestConversionItem, RequestConversionResult } from './requestService';
+export type { Quotation, QuotationItem, QuotationGenerationItem, QuotationGenerationResult, RepriceResult } from './quotationService';
+export type { Sample, SampleAssignment, AutoAssignResult, BulkSampleRequest, BulkSampleItem, BulkSampleResult } from './sampleService';
 export type { Chemist, ChemistWorkload } from './chemistService';
-
+export type { EnvironmentalSampling, UploadSessionStatus } from './environmentalSamplingService';
+export type { AuditLogEntry, AuditLogQuery } from './auditService';
+export type { StatusHistogram } from './statsService';
+export type { DashboardSnapshot, DashboardTask, ChemistLoad } from './dashboardService';
+export type { TestParameter } from './testParameterService';
+export type { PriceList } from './priceListService';
+export type { CustomerMatch, SearchHit, SearchType } from './searchService';
@@ -0,0 +1,61 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+
+export interface PriceList {
+  id?: number;
+  name: string;
+  customer?: string;
+  effectiveFrom: string;
+  status?: 'draft' | 'published' | 'withdrawn';
+  publishedAt?: string;
+  publishedBy?: string;
+  prices: Record<string, number>;
+  notes?: string;
+  createdAt?: string;
+  updatedAt?: string;
+}
+
+const priceListService = {
+  async getAll(params?: { status?: string; customer?: string }): Promise<PriceList[]> {
+    const response = await apiClient.get<ApiResponse<PriceList[]>>('/price-lists', { params });
+    return response.data.data;
+  },
+
+  async getById(id: number): Promise<PriceList> {
+    const response = await apiClient.get<ApiResponse<PriceList>>(`/price-lists/${id}`);
+    return response.data.data;
+  },
+
+  async resolve(parameter: string, customer?: string, date?: string): Promise<number> {
+    const response = await apiClient.get<ApiResponse<number>>('/price-lists/resolve', {
+      params: { parameter, customer, date },
+    });
+    return response.data.data;
+  },
+
+  async create(priceList: PriceList): Promise<PriceList> {
+    const response = await apiClient.post<ApiResponse<PriceList>>('/price-lists', priceList);
+    return response.data.data;
+  },
+
+  async update(id: number, priceList: Partial<PriceList>): Promise<PriceList> {
+    const response = await apiClient.put<ApiResponse<PriceList>>(`/price-lists/${id}`, priceList);
+    return response.data.data;
+  },
+
+  async publish(id: number): Promise<PriceList> {
+    const response = await apiClient.post<ApiResponse<PriceList>>(`/price-lists/${id}/publish`);
+    return response.data.data;
+  },
+
+  async withdraw(id: number): Promise<PriceList> {
+    const response = await apiClient.post<ApiResponse<PriceList>>(`/price-lists/${id}/withdraw`);
+    return response.data.data;
+  },
+
+  async delete(id: number): Promise<void> {
+    await apiClient.delete(`/price-lists/${id}`);
+  },
+};
+
+export default priceListService;
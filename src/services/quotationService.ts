@@ -27,6 +27,30 @@ export interface Quotation {
   updatedAt?: string;
 }
 
+export interface QuotationGenerationItem {
+  requestId: number;
+  requestNumber: string;
+  success: boolean;
+  quotationId?: number;
+  quotationNumber?: string;
+  total?: number;
+  message?: string;
+}
+
+export interface QuotationGenerationResult {
+  considered: number;
+  generated: number;
+  failed: number;
+  items: QuotationGenerationItem[];
+}
+
+export interface RepriceResult {
+  parameters: number;
+  itemsUpdated: number;
+  quotationsUpdated: number;
+  durationMs: number;
+}
+
 export type CreateQuotationDTO = Omit<Quotation, 'id' | 'quotationId' | 'createdAt' | 'updatedAt'>;
 
 const quotationService = {
@@ -73,6 +97,25 @@ const quotationService = {
   async delete(id: number): Promise<void> {
     await apiClient.delete(`/quotations/${id}`);
   },
+
+  async generateFromRequest(requestId: number): Promise<Quotation> {
+    const response = await apiClient.post<ApiResponse<Quotation>>(`/quotations/generate/${requestId}`);
+    return response.data.data;
+  },
+
+  async generateForPendingRequests(limit?: number): Promise<QuotationGenerationResult> {
+    const response = await apiClient.post<ApiResponse<QuotationGenerationResult>>('/quotations/generate', null, {
+      params: { limit },
+    });
+    return response.data.data;
+  },
+
+  async repriceOpen(includeSent = false): Promise<RepriceResult> {
+    const response = await apiClient.post<ApiResponse<RepriceResult>>('/quotations/reprice', null, {
+      params: { includeSent },
+    });
+    return response.data.data;
+  },
 };
 
 export default quotationService;
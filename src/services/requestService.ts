@@ -20,6 +20,34 @@ export interface Request {
   updatedAt?: string;
 }
 
+export interface RequestConversionOptions {
+  crfType?: 'CS' | 'LS';
+  samplingType?: string;
+  receivedBy?: string;
+}
+
+export interface RequestConversionItem {
+  requestId: number;
+  requestNumber?: string;
+  success: boolean;
+  alreadyConverted: boolean;
+  quotationId?: number;
+  quotationNumber?: string;
+  crfId?: number;
+  crfNumber?: string;
+  samples: number;
+  message?: string;
+}
+
+export interface RequestConversionResult {
+  requested: number;
+  converted: number;
+  alreadyConverted: number;
+  failed: number;
+  durationMs: number;
+  items: RequestConversionItem[];
+}
+
 export type CreateRequestDTO = Omit<Request, 'id' | 'requestId' | 'createdAt' | 'updatedAt'>;
 
 const requestService = {
@@ -58,6 +86,19 @@ const requestService = {
     return response.data.data;
   },
 
+  async convert(id: number, options?: RequestConversionOptions): Promise<RequestConversionItem> {
+    const response = await apiClient.post<ApiResponse<RequestConversionItem>>(`/requests/${id}/convert`, options ?? {});
+    return response.data.data;
+  },
+
+  async convertMany(requestIds: number[], options?: RequestConversionOptions): Promise<RequestConversionResult> {
+    const response = await apiClient.post<ApiResponse<RequestConversionResult>>('/requests/convert', {
+      ...options,
+      requestIds,
+    });
+    return response.data.data;
+  },
+
   async delete(id: number): Promise<void> {
     await apiClient.delete(`/requests/${id}`);
   },
@@ -17,6 +17,52 @@ export interface Sample {
   updatedAt?: string;
 }
 
+export interface SampleAssignment {
+  id: number;
+  sampleId: string;
+  crfId: string;
+  priority: string;
+  category: string;
+  chemist?: string;
+  reason?: string;
+}
+
+export interface AutoAssignResult {
+  dryRun: boolean;
+  considered: number;
+  assignedCount: number;
+  unassignedCount: number;
+  assigned: SampleAssignment[];
+  unassigned: SampleAssignment[];
+  chemistLoad: Record<string, number>;
+}
+
+export interface BulkSampleRequest {
+  operation: 'assign' | 'status';
+  ids?: number[];
+  crfId?: number;
+  chemist?: string;
+  status?: string;
+}
+
+export interface BulkSampleItem {
+  id: number;
+  sampleId?: string;
+  success: boolean;
+  previousStatus?: string;
+  status?: string;
+  assignedTo?: string;
+  message?: string;
+}
+
+export interface BulkSampleResult {
+  operation: string;
+  requested: number;
+  succeeded: number;
+  failed: number;
+  items: BulkSampleItem[];
+}
+
 const sampleService = {
   async getAll(): Promise<Sample[]> {
     const response = await apiClient.get<ApiResponse<Sample[]>>('/samples');
@@ -53,6 +99,11 @@ const sampleService = {
     return response.data.data;
   },
 
+  async bulkUpdateTestValues(testValues: Record<number, Record<string, string>>): Promise<BulkSampleResult> {
+    const response = await apiClient.patch<ApiResponse<BulkSampleResult>>('/samples/test-values', testValues);
+    return response.data.data;
+  },
+
   async updateStatus(id: number, status: string): Promise<Sample> {
     const response = await apiClient.patch<ApiResponse<Sample>>(`/samples/${id}/status?status=${status}`);
     return response.data.data;
@@ -62,6 +113,18 @@ const sampleService = {
     const response = await apiClient.put<ApiResponse<Sample>>(`/samples/${id}`, sample);
     return response.data.data;
   },
+
+  async bulkUpdate(request: BulkSampleRequest): Promise<BulkSampleResult> {
+    const response = await apiClient.post<ApiResponse<BulkSampleResult>>('/samples/bulk', request);
+    return response.data.data;
+  },
+
+  async autoAssign(dryRun = false, limit?: number): Promise<AutoAssignResult> {
+    const response = await apiClient.post<ApiResponse<AutoAssignResult>>('/samples/auto-assign', null, {
+      params: { dryRun, limit },
+    });
+    return response.data.data;
+  },
 };
 
 export default sampleService;
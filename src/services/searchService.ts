@@ -0,0 +1,40 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+
+export interface CustomerMatch {
+  customer: string;
+  score: number;
+  crfs: number;
+  requests: number;
+  quotations: number;
+}
+
+export type SearchType = 'CRF' | 'SAMPLE' | 'REQUEST' | 'QUOTATION' | 'TEST_PARAMETER';
+
+export interface SearchHit {
+  type: SearchType;
+  id: number;
+  key: string;
+  title?: string;
+  subtitle?: string;
+  score: number;
+}
+
+const searchService = {
+  async search(q: string, types?: SearchType[], limit?: number): Promise<SearchHit[]> {
+    const response = await apiClient.get<ApiResponse<SearchHit[]>>('/search', {
+      params: { q, types: types?.join(','), limit },
+    });
+    return response.data.data;
+  },
+
+
+  async searchCustomers(q: string, limit?: number): Promise<CustomerMatch[]> {
+    const response = await apiClient.get<ApiResponse<CustomerMatch[]>>('/search/customers', {
+      params: { q, limit },
+    });
+    return response.data.data;
+  },
+};
+
+export default searchService;
@@ -0,0 +1,17 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+
+export interface StatusHistogram {
+  // e.g. counts.crf.review, counts.samples.testing
+  counts: Record<'crf' | 'requests' | 'quotations' | 'samples', Record<string, number>>;
+  reconciledAt?: string;
+}
+
+const statsService = {
+  async getStatusHistogram(): Promise<StatusHistogram> {
+    const response = await apiClient.get<ApiResponse<StatusHistogram>>('/stats/status-histogram');
+    return response.data.data;
+  },
+};
+
+export default statsService;
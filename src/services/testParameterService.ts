@@ -0,0 +1,47 @@
+import apiClient from './api';
+import type { ApiResponse } from './authService';
+
+export interface TestParameter {
+  id?: number;
+  name: string;
+  unit?: string;
+  method?: string;
+  defaultPrice?: number;
+  applicableSampleTypes: string[];
+  category?: string;
+  active?: boolean;
+  description?: string;
+  accreditation?: string;
+  createdAt?: string;
+  updatedAt?: string;
+}
+
+const testParameterService = {
+  async getAll(sampleType?: string): Promise<TestParameter[]> {
+    const response = await apiClient.get<ApiResponse<TestParameter[]>>('/test-parameters', {
+      params: { sampleType },
+    });
+    return response.data.data;
+  },
+
+  async getByName(name: string): Promise<TestParameter> {
+    const response = await apiClient.get<ApiResponse<TestParameter>>(`/test-parameters/name/${encodeURIComponent(name)}`);
+    return response.data.data;
+  },
+
+  async create(parameter: TestParameter): Promise<TestParameter> {
+    const response = await apiClient.post<ApiResponse<TestParameter>>('/test-parameters', parameter);
+    return response.data.data;
+  },
+
+  async update(id: number, parameter: Partial<TestParameter>): Promise<TestParameter> {
+    const response = await apiClient.put<ApiResponse<TestParameter>>(`/test-parameters/${id}`, parameter);
+    return response.data.data;
+  },
+
+  async deactivate(id: number): Promise<void> {
+    await apiClient.delete(`/test-parameters/${id}`);
+  },
+};
+
+export default testParameterService;